@@ -1,7 +1,8 @@
 package game.characterBuilders;
 import game.characters.*;
+import game.core.GameRandom;
 import game.map.Position;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Builder class for creating enemy characters in the game.
@@ -15,7 +16,7 @@ public class EnemyBuilder implements CharacterBuilder {
      */
     public EnemyBuilder() {
         this.health = 50;
-        this.power = r.nextInt(4,14);
+        this.power = GameRandom.current().nextInt(4,14);
     }
 
     /**
@@ -51,6 +52,7 @@ public class EnemyBuilder implements CharacterBuilder {
      * Adjusts health and power based on a random choice, ensuring they sum to a total.
      */
     public void randomizeStats() {
+        RandomGenerator r = GameRandom.current();
         int total = health + power;
         if (r.nextBoolean()) {
             buildHealth(r.nextInt( health - 2, health + 3));
@@ -79,7 +81,6 @@ public class EnemyBuilder implements CharacterBuilder {
     // --- Fields ---
     private int health;
     private int power;
-    private final Random r = new Random();
     private  Enemy enemy;
 
 }
@@ -2,8 +2,8 @@ package game.characters;
 import game.combat.Combatant;
 import game.combat.MagicElement;
 import game.core.GameEntity;
+import game.core.GameRandom;
 import game.map.Position;
-import java.util.Random;
 
 /**
  * AbstractCharacter is a base class for all characters in the game world.
@@ -21,7 +21,7 @@ public abstract class AbstractCharacter implements Combatant, GameEntity {
     public AbstractCharacter(Position position, int health) {
         setPosition(position);
         this.health = health;
-        this.power = new Random().nextInt(4,14);
+        this.power = GameRandom.current().nextInt(4,14);
         this.visible = true;
     }
 
@@ -67,7 +67,7 @@ public abstract class AbstractCharacter implements Combatant, GameEntity {
      */
     @Override
     public boolean tryEvade() {
-        double evadeChance = Math.random();
+        double evadeChance = GameRandom.current().nextDouble();
         return evadeChance < this.evasionChance;
     }
 
@@ -188,6 +188,7 @@ public abstract class AbstractCharacter implements Combatant, GameEntity {
 
     // --- Fields ---
 
+    private static final long serialVersionUID = 1L;
     private Position position;
     private int health;
     private int power;
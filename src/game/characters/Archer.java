@@ -2,9 +2,10 @@ package game.characters;
 import game.combat.Combatant;
 import game.combat.PhysicalAttacker;
 import game.combat.RangeFighter;
+import game.core.GameRandom;
 import game.log.LogManager;
 import game.map.Position;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Archer represents a player character specialized in ranged combat.
@@ -22,7 +23,7 @@ public class Archer extends PlayerCharacter implements RangeFighter, PhysicalAtt
      */
     public Archer(String name, Position pos, int health) {
         super(name, pos, health);
-        Random rand = new Random();
+        RandomGenerator rand = GameRandom.current();
         accuracy = rand.nextDouble(0.8);
     }
 
@@ -74,7 +75,7 @@ public class Archer extends PlayerCharacter implements RangeFighter, PhysicalAtt
      */
     @Override
     public boolean isCriticalHit() {
-        double rand = Math.random();
+        double rand = GameRandom.current().nextDouble();
         return rand <= 0.1;
     }
 
@@ -142,5 +143,6 @@ public class Archer extends PlayerCharacter implements RangeFighter, PhysicalAtt
     }
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private double accuracy;
 }
@@ -1,6 +1,7 @@
 package game.characters;
 import game.combat.MagicElement;
 import game.combat.*;
+import game.core.GameRandom;
 import game.log.LogManager;
 import game.map.Position;
 
@@ -147,7 +148,7 @@ public class Dragon extends Enemy implements PhysicalAttacker, MeleeFighter, Mag
      */
     @Override
     public boolean isCriticalHit() {
-        double rand = Math.random();
+        double rand = GameRandom.current().nextDouble();
         return rand <= 0.1;
     }
 
@@ -196,5 +197,6 @@ public class Dragon extends Enemy implements PhysicalAttacker, MeleeFighter, Mag
     }
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private MagicElement element;
 }
@@ -1,7 +1,8 @@
 package game.characters;
+import game.core.GameRandom;
 import game.items.Treasure;
 import game.map.Position;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Enemy represents a character that can be defeated by a player.
@@ -18,7 +19,7 @@ public abstract class Enemy extends AbstractCharacter {
      */
     public Enemy(Position position, int health) {
         super(position, health);
-        Random r = new Random();
+        RandomGenerator r = GameRandom.current();
         this.loot = r.nextInt(100, 300); // Random loot between 100 and 300
     }
 
@@ -86,6 +87,7 @@ public abstract class Enemy extends AbstractCharacter {
     }
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private final int loot;
 
 
@@ -1,5 +1,6 @@
 package game.characters;
 import game.characterBuilders.*;
+import game.core.GameRandom;
 import game.map.Position;
 import java.util.*;
 import java.util.function.Supplier;
@@ -28,7 +29,7 @@ public class EnemyFactory {
      */
     public Enemy createEnemy(Position pos) {
         List<String> types = new ArrayList<>(builders.keySet());
-        String selected = types.get(new Random().nextInt(types.size()));
+        String selected = types.get(GameRandom.current().nextInt(types.size()));
         CharacterBuilder builder = builders.get(selected).get();
         builder.build(selected,pos);
         if ( builder instanceof EnemyBuilder enemyBuilder){
@@ -2,9 +2,9 @@ package game.characters;
 import game.combat.Combatant;
 import game.combat.MeleeFighter;
 import game.combat.PhysicalAttacker;
+import game.core.GameRandom;
 import game.log.LogManager;
 import game.map.Position;
-import java.util.Random;
 
 /**
  * Goblin represents an enemy character that is a physical attacker with a melee fighting style.
@@ -20,7 +20,7 @@ public class Goblin extends Enemy implements PhysicalAttacker, MeleeFighter {
      */
     public Goblin(Position pos, int health) {
         super(pos, health);
-        agility = new Random().nextInt(80); // Random agility between 0 and 80
+        agility = GameRandom.current().nextInt(80); // Random agility between 0 and 80
     }
 
     /**
@@ -100,7 +100,7 @@ public class Goblin extends Enemy implements PhysicalAttacker, MeleeFighter {
      */
     @Override
     public boolean isCriticalHit() {
-        double rand = Math.random();
+        double rand = GameRandom.current().nextDouble();
         return rand <= 0.1;
     }
 
@@ -157,5 +157,6 @@ public class Goblin extends Enemy implements PhysicalAttacker, MeleeFighter {
 
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private int agility; // Agility of the Goblin that affects evasion
 }
@@ -177,5 +177,6 @@ public class Mage extends PlayerCharacter implements RangeFighter, MagicAttacker
     }
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private MagicElement element; // Mage's magic element
 }
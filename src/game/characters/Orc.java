@@ -2,9 +2,9 @@ package game.characters;
 import game.combat.Combatant;
 import game.combat.MeleeFighter;
 import game.combat.PhysicalAttacker;
+import game.core.GameRandom;
 import game.log.LogManager;
 import game.map.Position;
-import java.util.Random;
 
 /**
  * Orc represents an enemy character capable of receiving damage from both physical and magical attacks.
@@ -20,7 +20,7 @@ public class Orc extends Enemy implements MeleeFighter, PhysicalAttacker {
      */
     public Orc(Position pos, int health) {
         super(pos, health);
-        resistance = new Random().nextDouble() * 0.5; // Resistance value between 0 and 0.5
+        resistance = GameRandom.current().nextDouble() * 0.5; // Resistance value between 0 and 0.5
     }
 
     /**
@@ -117,7 +117,7 @@ public class Orc extends Enemy implements MeleeFighter, PhysicalAttacker {
      */
     @Override
     public boolean isCriticalHit() {
-        double rand = Math.random();
+        double rand = GameRandom.current().nextDouble();
         return rand <= 0.1; // 10% chance of a critical hit
     }
 
@@ -162,5 +162,6 @@ public class Orc extends Enemy implements MeleeFighter, PhysicalAttacker {
 
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private double resistance;
 }
@@ -159,6 +159,7 @@ public abstract class PlayerCharacter extends AbstractCharacter {
 
     // --- Fields ---
 
+    private static final long serialVersionUID = 1L;
     private final String name;
     private Inventory inventory;
     private int treasurePoints;
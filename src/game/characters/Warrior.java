@@ -2,9 +2,10 @@ package game.characters;
 import game.combat.Combatant;
 import game.combat.MeleeFighter;
 import game.combat.PhysicalAttacker;
+import game.core.GameRandom;
 import game.log.LogManager;
 import game.map.Position;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * The Warrior class represents a player character specialized in melee and physical combat.
@@ -21,7 +22,7 @@ public class Warrior extends PlayerCharacter implements MeleeFighter, PhysicalAt
      */
     public Warrior(String playerName, Position position, int health) {
         super(playerName, position, health);
-        Random random = new Random();
+        RandomGenerator random = GameRandom.current();
         this.defence = random.nextInt(120);
     }
 
@@ -124,7 +125,7 @@ public class Warrior extends PlayerCharacter implements MeleeFighter, PhysicalAt
      */
     @Override
     public boolean isCriticalHit() {
-        double rand = Math.random();
+        double rand = GameRandom.current().nextDouble();
         return rand <= 0.1;
     }
 
@@ -165,5 +166,6 @@ public class Warrior extends PlayerCharacter implements MeleeFighter, PhysicalAt
     }
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private int defence;
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package game.combat;
 
-import java.util.Random;
+import game.core.GameRandom;
+
+import java.util.random.RandomGenerator;
 
 /**
  * Represents the elemental types of magic used in combat.
@@ -39,7 +41,7 @@ public enum MagicElement {
      * @return the MagicElement of this attacker
      */
     public static MagicElement getElement() {
-        Random r = new Random();
+        RandomGenerator r = GameRandom.current();
         int type = r.nextInt(3);
         if (type == 0) {
             return FIRE;
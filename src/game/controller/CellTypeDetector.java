@@ -4,6 +4,8 @@ import game.characters.Enemy;
 import game.characters.PlayerCharacter;
 import game.items.GameItem;
 import game.items.Wall;
+import game.map.GameMap;
+import game.map.Position;
 
 import java.util.List;
 
@@ -11,9 +13,102 @@ import java.util.List;
  * Utility class to detect the presence and types of GameEntity objects in a cell.
  * Provides methods to check whether a cell contains players, enemies, walls, or items,
  * and to retrieve the first instance of a specified type.
+ * The map-based overloads answer from the cell's category flags kept by GameMap,
+ * so they never iterate or copy the cell.
  */
 public class CellTypeDetector {
 
+    /**
+     * Checks if the cell at the given position contains a PlayerCharacter.
+     * @param map the game map
+     * @param pos the position of the cell
+     * @return true if a player is present; false otherwise
+     */
+    public static boolean hasPlayer(GameMap map, Position pos) {
+        return map.hasAny(pos, GameMap.PLAYER);
+    }
+
+    /**
+     * Checks if the cell at the given position contains an Enemy.
+     * @param map the game map
+     * @param pos the position of the cell
+     * @return true if an enemy is present; false otherwise
+     */
+    public static boolean hasEnemy(GameMap map, Position pos) {
+        return map.hasAny(pos, GameMap.ENEMY);
+    }
+
+    /**
+     * Checks if the cell at the given position contains a GameItem.
+     * @param map the game map
+     * @param pos the position of the cell
+     * @return true if an item is present; false otherwise
+     */
+    public static boolean hasItem(GameMap map, Position pos) {
+        return map.hasAny(pos, GameMap.ITEM);
+    }
+
+    /**
+     * Checks if the cell at the given position contains a Wall.
+     * @param map the game map
+     * @param pos the position of the cell
+     * @return true if a wall is present; false otherwise
+     */
+    public static boolean hasWall(GameMap map, Position pos) {
+        return map.hasAny(pos, GameMap.WALL);
+    }
+
+    /**
+     * Returns the first entity of the cell at the given position that matches the specified type.
+     * @param map   the game map
+     * @param pos   the position of the cell
+     * @param clazz Class type to retrieve
+     * @param <T>   Type parameter extending GameEntity
+     * @return First entity of the given type, or null if none found
+     */
+    public static <T extends GameEntity> T getFirstOfType(GameMap map, Position pos, Class<T> clazz) {
+        if (!map.isWithinBounds(pos)) return null;
+        int cell = map.pack(pos.getRow(), pos.getCol());
+        int count = map.countAt(cell);
+        for (int i = 0; i < count; i++) {
+            GameEntity entity = map.getEntityAt(cell, i);
+            if (clazz.isInstance(entity)) {
+                return clazz.cast(entity);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the first Enemy in the cell at the given position.
+     * @param map the game map
+     * @param pos the position of the cell
+     * @return First Enemy found, or null if none
+     */
+    public static Enemy getFirstEnemy(GameMap map, Position pos) {
+        return getFirstOfType(map, pos, Enemy.class);
+    }
+
+    /**
+     * Retrieves the first GameItem in the cell at the given position.
+     * @param map the game map
+     * @param pos the position of the cell
+     * @return First GameItem found, or null if none
+     */
+    public static GameItem getFirstItem(GameMap map, Position pos) {
+        return getFirstOfType(map, pos, GameItem.class);
+    }
+
+    /**
+     * Retrieves the first PlayerCharacter in the cell at the given position.
+     * @param map the game map
+     * @param pos the position of the cell
+     * @return First PlayerCharacter found, or null if none
+     */
+    public static PlayerCharacter getFirstPlayer(GameMap map, Position pos) {
+        return getFirstOfType(map, pos, PlayerCharacter.class);
+    }
+
     /**
      * Checks whether the given list of entities contains at least one instance of the specified type.
      * @param entities List of entities to check
@@ -10,12 +10,14 @@ import game.gui.GameFrame;
 import game.gui.GameSetUp;
 import game.items.GameItem;
 import game.log.LogManager;
+import game.map.GameMap;
 import game.map.Position;
+import game.map.VisibleCells;
 import game.core.GameEntity;
 import java.awt.*;
-import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
 
 /**
  * Controls game interactions between user input, game logic, and GUI.
@@ -45,6 +47,16 @@ public class GameController {
      */
     public void setTileSize(int tileSize) {
         this.tileSize = tileSize;
+        sprites.setTileSize(tileSize);
+        tileIcons.clear();
+    }
+
+    /**
+     * Gets the size of tiles in pixels.
+     * @return the tile size.
+     */
+    public int getTileSize() {
+        return tileSize;
     }
 
     /**
@@ -63,6 +75,31 @@ public class GameController {
         return engine.getMap().getSize();
     }
 
+    /**
+     * Gets the cells currently visible to the player.
+     * @return the visible cells, recomputed by the engine whenever the player moves.
+     */
+    public VisibleCells getVisibleCells() {
+        return engine.getVisibleCells();
+    }
+
+    /**
+     * Starts recording which map cells change, so the map view can redraw only those.
+     */
+    public void trackDirtyCells() {
+        engine.getMap().enableDirtyTracking();
+    }
+
+    /**
+     * Passes every map cell that changed since the last call to an action.
+     * Cells that came into or went out of the player's view count as changed.
+     * @param action receives the packed index of each changed cell.
+     * @return true if the action saw every changed cell; false if every cell must be redrawn.
+     */
+    public boolean drainDirtyCells(IntConsumer action) {
+        return engine.getMap().drainDirtyCells(action);
+    }
+
     /**
      * Returns the player character.
      * @return the PlayerCharacter instance.
@@ -87,41 +124,31 @@ public class GameController {
      */
     public void handleLeftClick(int row, int col) {
 
-        Position clickedPos = new Position(row, col);
-        List<GameEntity> entities = engine.getMap().getEntitiesAt(clickedPos);
+        Position clickedPos = Position.of(row, col);
+        GameMap map = engine.getMap();
         Position playerPos = engine.getPlayer().getPosition();
         engine.getPlayer().update(); // Update health regeneration if applicable
 
         if (engine.isValidMove(playerPos, clickedPos)) {
-            ReentrantLock lock = GameWorld.getMapLock(clickedPos);
-            boolean acquired = false;
-            try {
-                acquired = lock.tryLock(100, TimeUnit.MILLISECONDS);
-                if (acquired) {
-                    if (engine.getMap().isEmpty(clickedPos)) {
-                        engine.movePlayerTo(clickedPos);
-                        SoundPlayer.playSound("footsteps.wav");
-                        engine.notifyObservers();
-                    } else if (CellTypeDetector.hasEnemy(entities)) {
-                        engine.fightEnemyAt(clickedPos);
-                        if (engine.getPlayer().isDead()) gameOver();
-                        SoundPlayer.playSound("classic_attack.wav");
-                        engine.notifyObservers();
-                    } else if (CellTypeDetector.hasItem(entities)) {
-                        engine.pickUpItemAt(clickedPos);
-                        SoundPlayer.playSound("item_pickup.wav");
-                        checkVictory();
-                        if (frame instanceof GameFrame gf) {
-                            gf.getMapPanel().highlightCell(row, col, Color.GREEN);
-                        }
-                        engine.movePlayerTo(clickedPos);
-                        engine.notifyObservers();
-                    }
+            if (map.isEmpty(clickedPos)) {
+                if (engine.movePlayerTo(clickedPos)) {
+                    SoundPlayer.playSound("footsteps.wav");
+                    engine.requestNotify();
+                }
+            } else if (CellTypeDetector.hasEnemy(map, clickedPos)) {
+                engine.fightEnemyAt(clickedPos);
+                if (engine.getPlayer().isDead()) gameOver();
+                SoundPlayer.playSound("classic_attack.wav");
+                engine.requestNotify();
+            } else if (CellTypeDetector.hasItem(map, clickedPos)) {
+                engine.pickUpItemAt(clickedPos);
+                SoundPlayer.playSound("item_pickup.wav");
+                checkVictory();
+                if (frame instanceof GameFrame gf) {
+                    gf.getMapPanel().highlightCell(row, col, Color.GREEN);
                 }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            } finally {
-                if (acquired) lock.unlock();
+                engine.movePlayerTo(clickedPos);
+                engine.requestNotify();
             }
         }
     }
@@ -134,28 +161,38 @@ public class GameController {
      * @param sourceButton the button that was clicked.
      */
     public void handleRightClick(int row, int col, JButton sourceButton) {
-        Position pos = new Position(row, col);
-        List<GameEntity> entities = engine.getMap().getEntitiesAt(pos);
+        handleRightClick(row, col, sourceButton, sourceButton.getWidth() / 2, sourceButton.getHeight() / 2);
+    }
+
+    /**
+     * Handles a right-click at a specific tile of a map drawn as one component.
+     * Displays information about the tile contents in a popup menu at the click point.
+     * @param row     the row clicked.
+     * @param col     the column clicked.
+     * @param invoker the component that was clicked.
+     * @param x       the x coordinate of the click in the invoker's coordinate space.
+     * @param y       the y coordinate of the click in the invoker's coordinate space.
+     */
+    public void handleRightClick(int row, int col, Component invoker, int x, int y) {
+        GameMap map = engine.getMap();
         JPopupMenu popup = new JPopupMenu();
 
-        if (CellTypeDetector.hasEnemy(entities)) {
-            Enemy e = CellTypeDetector.getFirstEnemy(entities);
+        // One read of the cell, so the entity described is the one that was found
+        GameEntity entity = map.getFirstByCategory(map.pack(row, col), RIGHT_CLICK_ORDER);
+        if (entity instanceof Enemy e) {
             JPanel infoPanel = new JPanel(new GridLayout(0, 1));
             infoPanel.add(new JLabel("Enemy: " + e.getDisplaySymbol()));
             infoPanel.add(new JLabel("HP: " + e.getHealth()));
             popup.add(infoPanel);
-        } else if (CellTypeDetector.hasItem(entities)) {
-            GameItem item = CellTypeDetector.getFirstItem(entities);
+        } else if (entity instanceof GameItem item) {
             popup.add(new JMenuItem("Item: " + item.getDescription()));
-        } else if (CellTypeDetector.hasWall(entities)) {
-            popup.add(new JMenuItem("Wall - impassable to pass"));
-        } else if (CellTypeDetector.hasPlayer(entities)) {
+        } else if (entity instanceof PlayerCharacter) {
             popup.add(new JMenuItem("Player: " + getPlayer().toString()));
         } else {
             popup.add(new JMenuItem("Empty tile"));
         }
 
-        popup.show(sourceButton, sourceButton.getWidth() / 2, sourceButton.getHeight() / 2);
+        popup.show(invoker, x, y);
     }
 
     /**
@@ -190,53 +227,56 @@ public class GameController {
     }
 
     /**
-     * Generates a tile image with a health bar overlay.
+     * Gets a tile image with a health bar overlay.
+     * Tile images are composed once per sprite, bar length and bar color, and reused, so a refresh
+     * in the steady state allocates no images.
      * @param row tile row.
      * @param col tile column.
-     * @return icon with health bar overlay.
+     * @return icon with health bar overlay, or null for a hidden or empty tile.
      */
     public ImageIcon getIconWithHealthBar(int row, int col) {
-        Position pos = new Position(row, col);
-        List<GameEntity> entities = engine.getMap().getEntitiesAt(pos);
-
-        if (entities == null || !engine.isVisibleToPlayer(row, col)) return null;
-
-        ImageIcon baseIcon = getIconForTile(row, col);
-        if (baseIcon == null) return null;
-
-        Image baseImage = baseIcon.getImage();
-        int width = baseImage.getWidth(null);
-        int healthBarHeight = 4;
-        int iconYOffset = 3;
-
-        BufferedImage imageWithBar = new BufferedImage(tileSize, tileSize + iconYOffset, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g = imageWithBar.createGraphics();
-        g.drawImage(baseImage, 0, iconYOffset, tileSize, tileSize, null);
-
-        for (GameEntity entity : entities) {
-            int health = -1, maxHealth = -1;
-            if (entity instanceof PlayerCharacter p) {
-                health = p.getHealth();
-                maxHealth = p.getMaxHealth();
-            } else if (entity instanceof Enemy e) {
-                health = e.getHealth();
-                maxHealth = e.getMaxHealth();
-            }
+        if (!engine.isVisibleToPlayer(row, col)) return null;
+        String name = getSpriteName(row, col);
+        if (name == null) return null;
+        BufferedImage sprite = sprites.get(name);
+        if (sprite == null) return null;
+
+        int bar = getHealthBar(row, col);
+        ImageIcon[] icons = tileIcons.get(name);
+        if (icons == null) {
+            // One slot per bar length and color, plus slot 0 for tiles without a bar
+            icons = new ImageIcon[(tileSize + 1) * BAR_COLORS.length + 1];
+            tileIcons.put(name, icons);
+        }
+        ImageIcon icon = icons[bar + 1];
+        if (icon == null) {
+            icon = new ImageIcon(composeTile(sprite, bar));
+            icons[bar + 1] = icon;
+        }
+        return icon;
+    }
 
-            if (health >= 0) {
-                double percent = (double) health / maxHealth;
-                Color barColor = percent > 0.7 ? Color.GREEN : (percent > 0.3 ? Color.ORANGE : Color.RED);
-                g.setColor(Color.DARK_GRAY);
-                g.fillRect(0, 0, width, healthBarHeight);
-                g.setColor(barColor);
-                g.fillRect(0, 0, (int) (width * percent), healthBarHeight);
-                g.setColor(Color.BLACK);
-                g.drawRect(0, 0, width - 1, healthBarHeight - 1);
-                break;
-            }
+    /**
+     * Paints a tile with its health bar directly onto a map being painted, without any intermediate image.
+     * Hidden and empty tiles are left untouched.
+     * @param g   the graphics context of the map.
+     * @param row tile row.
+     * @param col tile column.
+     * @param x   the x coordinate of the tile's top-left corner.
+     * @param y   the y coordinate of the tile's top-left corner.
+     */
+    public void paintTile(Graphics2D g, int row, int col, int x, int y) {
+        if (!engine.isVisibleToPlayer(row, col)) return;
+        String name = getSpriteName(row, col);
+        if (name == null) return;
+        BufferedImage sprite = sprites.get(name);
+        if (sprite == null) return;
+
+        g.drawImage(sprite, x, y, null);
+        int bar = getHealthBar(row, col);
+        if (bar >= 0) {
+            paintHealthBar(g, x, y, bar);
         }
-        g.dispose();
-        return new ImageIcon(imageWithBar);
     }
 
     /**
@@ -259,7 +299,7 @@ public class GameController {
      * Displays victory screen and shuts down game.
      */
     private void checkVictory() {
-        if (engine.getPlayer().getTreasurePoints() >= 500) {
+        if (engine.getPlayer().getTreasurePoints() >= GameWorld.VICTORY_TREASURE_POINTS) {
             LogManager.addLog("Game ended, player achieve 500 pt and won the game!");
             SoundPlayer.playSound("winner.wav");
             engine.shutdown();
@@ -288,43 +328,95 @@ public class GameController {
 
     }
     /**
-     * Generates the image for a tile based on its contents.
+     * Gets the name of the sprite for a tile based on its contents.
      * @param row tile row.
      * @param col tile column.
-     * @return icon representing the tile.
+     * @return name of the sprite representing the tile, or null for an empty tile.
      */
-    private ImageIcon getIconForTile(int row, int col) {
-        Position pos = new Position(row, col);
-        List<GameEntity> entities = engine.getMap().getEntitiesAt(pos);
-
-        if (entities == null || !engine.isVisibleToPlayer(row, col)) return null;
-
-        String path = "/images/";
-        if (CellTypeDetector.hasPlayer(entities)) {
-            path += CellTypeDetector.getFirstPlayer(entities).getDisplaySymbol() + ".png";
-        } else if (CellTypeDetector.hasEnemy(entities)) {
-            path += CellTypeDetector.getFirstEnemy(entities).getDisplaySymbol() + ".png";
-        } else if (CellTypeDetector.hasItem(entities)) {
-            path += CellTypeDetector.getFirstItem(entities).getDisplaySymbol() + ".png";
-        } else if (CellTypeDetector.hasWall(entities)) {
-            path += "Wall.png";
-        } else {
-            return null;
+    private String getSpriteName(int row, int col) {
+        GameMap map = engine.getMap();
+        // One read of the cell, so the entity cannot leave between finding it and asking for its symbol
+        GameEntity entity = map.getFirstByCategory(map.pack(row, col), SPRITE_ORDER);
+        return entity == null ? null : entity.getDisplaySymbol();
+    }
+
+    /**
+     * Gets the health bar of the first character in a tile.
+     * @param row tile row.
+     * @param col tile column.
+     * @return the bar length in pixels times the number of bar colors plus the index of the bar color,
+     *         or -1 if the tile holds no character.
+     */
+    private int getHealthBar(int row, int col) {
+        GameMap map = engine.getMap();
+        int cell = map.pack(row, col);
+        int count = map.countAt(cell);
+        for (int i = 0; i < count; i++) {
+            GameEntity entity = map.getEntityAt(cell, i);
+            int health = -1, maxHealth = -1;
+            if (entity instanceof PlayerCharacter p) {
+                health = p.getHealth();
+                maxHealth = p.getMaxHealth();
+            } else if (entity instanceof Enemy e) {
+                health = e.getHealth();
+                maxHealth = e.getMaxHealth();
+            }
+
+            if (health >= 0) {
+                double percent = (double) health / maxHealth;
+                int color = percent > 0.7 ? 0 : (percent > 0.3 ? 1 : 2);
+                int length = Math.max(0, Math.min(tileSize, (int) (tileSize * percent)));
+                return length * BAR_COLORS.length + color;
+            }
         }
+        return -1;
+    }
 
-        java.net.URL imgURL = getClass().getResource(path);
-        if (imgURL != null) {
-            ImageIcon originalIcon = new ImageIcon(imgURL);
-            Image scaledImage = originalIcon.getImage().getScaledInstance(tileSize, tileSize, Image.SCALE_SMOOTH);
-            return new ImageIcon(scaledImage);
+    /**
+     * Composes a tile image: the sprite below a strip holding its health bar.
+     * @param sprite the sprite of the tile, at the tile size.
+     * @param bar    the health bar as returned by getHealthBar, or -1 for none.
+     * @return the composed image.
+     */
+    private BufferedImage composeTile(BufferedImage sprite, int bar) {
+        BufferedImage tile = SpriteCache.createCompatibleImage(tileSize, tileSize + HEALTH_BAR_OFFSET);
+        Graphics2D g = tile.createGraphics();
+        g.drawImage(sprite, 0, HEALTH_BAR_OFFSET, null);
+        if (bar >= 0) {
+            paintHealthBar(g, 0, 0, bar);
         }
-        return null;
+        g.dispose();
+        return tile;
+    }
+
+    /**
+     * Paints a health bar across the top of a tile.
+     * @param g   the graphics context.
+     * @param x   the x coordinate of the tile's top-left corner.
+     * @param y   the y coordinate of the tile's top-left corner.
+     * @param bar the health bar as returned by getHealthBar.
+     */
+    private void paintHealthBar(Graphics2D g, int x, int y, int bar) {
+        g.setColor(Color.DARK_GRAY);
+        g.fillRect(x, y, tileSize, HEALTH_BAR_HEIGHT);
+        g.setColor(BAR_COLORS[bar % BAR_COLORS.length]);
+        g.fillRect(x, y, bar / BAR_COLORS.length, HEALTH_BAR_HEIGHT);
+        g.setColor(Color.BLACK);
+        g.drawRect(x, y, tileSize - 1, HEALTH_BAR_HEIGHT - 1);
     }
 
 
 // --- Fields ---
 
+    // Walls are items too, and their display symbol names their sprite
+    private static final int[] SPRITE_ORDER = {GameMap.PLAYER, GameMap.ENEMY, GameMap.ITEM};
+    private static final int[] RIGHT_CLICK_ORDER = {GameMap.ENEMY, GameMap.ITEM, GameMap.PLAYER};
+    private static final Color[] BAR_COLORS = {Color.GREEN, Color.ORANGE, Color.RED};
+    private static final int HEALTH_BAR_HEIGHT = 4;
+    private static final int HEALTH_BAR_OFFSET = 3;
     private int tileSize = 64;
+    private final SpriteCache sprites = new SpriteCache(tileSize);
+    private final Map<String, ImageIcon[]> tileIcons = new HashMap<>();
     private GameWorld engine;
     private GameFrame frame;
     private GameSetUp setUp = new GameSetUp();
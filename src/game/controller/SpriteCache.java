@@ -0,0 +1,128 @@
+package game.controller;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of the map sprites under /images/, scaled to the current tile size.
+ * Each sprite is decoded once, the first time it is asked for, and scaled once per tile size into an image
+ * compatible with the screen, so drawing it later is a plain copy. Changing the tile size drops the scaled
+ * sprites but keeps the decoded ones. Not thread-safe: used on the event dispatch thread only.
+ */
+final class SpriteCache {
+
+    /**
+     * Constructs an empty cache.
+     * @param tileSize The size of a tile in pixels.
+     * @throws IllegalArgumentException if the tile size is not positive.
+     */
+    SpriteCache(int tileSize) {
+        setTileSize(tileSize);
+    }
+
+    /**
+     * Sets the size sprites are scaled to, dropping the sprites scaled to another size.
+     * @param tileSize The size of a tile in pixels.
+     * @throws IllegalArgumentException if the tile size is not positive.
+     */
+    void setTileSize(int tileSize) {
+        if (tileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive: " + tileSize);
+        }
+        if (tileSize != this.tileSize) {
+            this.tileSize = tileSize;
+            scaled.clear();
+        }
+    }
+
+    /**
+     * Gets a sprite scaled to the tile size.
+     * @param name The name of the sprite, which is the display symbol of an entity or "Wall".
+     * @return The scaled sprite, or null if there is no image for that name.
+     */
+    BufferedImage get(String name) {
+        BufferedImage sprite = scaled.get(name);
+        if (sprite == null && !missing.contains(name)) {
+            BufferedImage original = decode(name);
+            if (original == null) {
+                missing.add(name);
+                return null;
+            }
+            sprite = scale(original);
+            scaled.put(name, sprite);
+        }
+        return sprite;
+    }
+
+    /**
+     * Creates a translucent image in the pixel format of the default screen, so it is drawn without conversion.
+     * Falls back to a plain ARGB image when there is no screen.
+     * @param width  The width in pixels.
+     * @param height The height in pixels.
+     * @return The new, fully transparent image.
+     */
+    static BufferedImage createCompatibleImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    /**
+     * Decodes the image of a sprite, or takes it from the decoded images.
+     * @param name The name of the sprite.
+     * @return The decoded image at its original size, or null if the image is missing or unreadable.
+     */
+    private BufferedImage decode(String name) {
+        BufferedImage original = originals.get(name);
+        if (original != null) {
+            return original;
+        }
+        URL url = SpriteCache.class.getResource(IMAGE_DIRECTORY + name + ".png");
+        if (url == null) {
+            return null;
+        }
+        try {
+            original = ImageIO.read(url);
+        } catch (IOException e) {
+            System.err.println("Failed to load sprite " + name + ": " + e.getMessage());
+            return null;
+        }
+        if (original != null) {
+            originals.put(name, original);
+        }
+        return original;
+    }
+
+    /**
+     * Scales an image to the tile size, with the same smooth scaling the map always used,
+     * into an image of the screen's pixel format.
+     * @param original The image to scale.
+     * @return The scaled copy.
+     */
+    private BufferedImage scale(BufferedImage original) {
+        BufferedImage sprite = createCompatibleImage(tileSize, tileSize);
+        // ImageIcon waits until the scaled image is fully produced
+        Image smooth = new ImageIcon(original.getScaledInstance(tileSize, tileSize, Image.SCALE_SMOOTH)).getImage();
+        Graphics2D g = sprite.createGraphics();
+        g.drawImage(smooth, 0, 0, null);
+        g.dispose();
+        return sprite;
+    }
+
+    // --- Fields ---
+    private static final String IMAGE_DIRECTORY = "/images/";
+    private final Map<String, BufferedImage> originals = new HashMap<>();
+    private final Map<String, BufferedImage> scaled = new HashMap<>();
+    private final Set<String> missing = new HashSet<>();
+    private int tileSize;
+}
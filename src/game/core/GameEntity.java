@@ -1,11 +1,13 @@
 package game.core;
 import game.map.Position;
+import java.io.Serializable;
 
 /**
  * Represents a generic entity in the game world.
  * An entity has a position, visibility status, display symbol, and color.
+ * Entities are serializable so chunked maps can move them to disk and back.
  */
-public interface GameEntity {
+public interface GameEntity extends Serializable {
 
     /**
      * Gets the current position of the entity.
@@ -0,0 +1,51 @@
+package game.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Source of randomness for all game logic.
+ * Characters, items and factories do not know which world they belong to, so the world binds
+ * its own seeded generator to the thread doing the world's work (see {@link #bind}), and game
+ * code draws from {@link #current()}. Each thread, task or effect of a world uses its own
+ * generator split from the world's seed, so no two threads ever share one and a world
+ * driven by a single thread replays the same way for the same seed.
+ * A thread with no bound generator draws from its ThreadLocalRandom.
+ */
+public final class GameRandom {
+
+    /**
+     * Returns the generator game code on the current thread should draw from.
+     * @return the generator bound to this thread, or the thread's ThreadLocalRandom if none is bound
+     */
+    public static RandomGenerator current() {
+        RandomGenerator generator = BOUND.get();
+        return generator != null ? generator : ThreadLocalRandom.current();
+    }
+
+    /**
+     * Binds a generator to the current thread until it is replaced.
+     * Callers restore the previous binding when they are done:
+     * {@code RandomGenerator previous = GameRandom.bind(mine); try { ... } finally { GameRandom.bind(previous); }}
+     * @param generator the generator to bind, or null to unbind
+     * @return the generator that was bound before, or null
+     */
+    public static RandomGenerator bind(RandomGenerator generator) {
+        RandomGenerator previous = BOUND.get();
+        if (generator == null) {
+            BOUND.remove();
+        } else {
+            BOUND.set(generator);
+        }
+        return previous;
+    }
+
+    /**
+     * Utility class; not instantiable.
+     */
+    private GameRandom() {
+    }
+
+    // --- Fields ---
+    private static final ThreadLocal<RandomGenerator> BOUND = new ThreadLocal<>();
+}
@@ -1,13 +1,14 @@
 package game.core;
 import game.items.GameItem;
 import game.log.LogManager;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Represents an inventory that can store multiple game items.
  */
-public class Inventory {
+public class Inventory implements Serializable {
 
     /**
      * Constructs an empty inventory.
@@ -88,6 +89,8 @@ public class Inventory {
 
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
+    @SuppressWarnings("serial") // Always an ArrayList, which is serializable
     private List<GameItem> items;
 
 }
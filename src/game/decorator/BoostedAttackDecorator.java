@@ -41,6 +41,7 @@ public class BoostedAttackDecorator extends PlayerDecorator {
 
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private final int extraDamage;
 
 }
@@ -48,6 +48,28 @@ public abstract class EnemyDecorator extends Enemy {
         decoratorEnemy.receiveDamage(amount, source);
     }
 
+    /**
+     * Gets the position of the decorated Enemy.
+     * @return the position of the Enemy
+     */
+    @Override
+    public Position getPosition() {
+        return decoratorEnemy.getPosition();
+    }
+
+    /**
+     * Moves the decorated Enemy, so the Enemy and all its decorators always share one position.
+     * @param newPos the new position to set
+     * @return true if the position was updated, false otherwise
+     */
+    @Override
+    public boolean setPosition(Position newPos) {
+        if (decoratorEnemy == null) {
+            return super.setPosition(newPos); // Called by the Enemy constructor, before the decorated Enemy is set
+        }
+        return decoratorEnemy.setPosition(newPos);
+    }
+
     /**
      * Returns the display symbol representing the Enemy.
      */
@@ -98,11 +120,12 @@ public abstract class EnemyDecorator extends Enemy {
      * Gets the decorated Enemy instance.
      * @return the Enemy being decorated
      */
-    protected Enemy getDecoratorEnemy() {
+    public Enemy getDecoratorEnemy() {
         return decoratorEnemy;
     }
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private final Enemy decoratorEnemy;
 
 }
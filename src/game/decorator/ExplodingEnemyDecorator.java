@@ -15,7 +15,7 @@ public class ExplodingEnemyDecorator extends EnemyDecorator{
 
     @Override
     public boolean isDead(){
-        if (getDecoratorEnemy().getHealth() <= 0 ){
+        if (player != null && getDecoratorEnemy().getHealth() <= 0 ){
             if (player.isInRange(getDecoratorEnemy().getPosition(), player.getPosition())){
                 player.setHealth((int) (player.getHealth() - getDecoratorEnemy().getMaxHealth() * 0.02));
                 LogManager.addLog("[ExplodingEnemyDecorator] Player " + player.getName() + " took explosion damage! -2% of max health.");
@@ -24,6 +24,16 @@ public class ExplodingEnemyDecorator extends EnemyDecorator{
         return super.isDead();
     }
 
+    /**
+     * Sets the player hit by the explosion.
+     * The player is not saved with the enemy, so it is bound again when the enemy is read back from disk.
+     * @param player the player character
+     */
+    public void setPlayer(PlayerCharacter player) {
+        this.player = player;
+    }
+
     //-- Fields ---
-    private final PlayerCharacter player;
+    private static final long serialVersionUID = 1L;
+    private transient PlayerCharacter player;
 }
@@ -98,4 +98,7 @@ public class MagicAmplifierDecorator extends PlayerDecorator implements MagicAtt
         PlayerCharacter copiedPlayer = (PlayerCharacter) getDecoratorPlayer().deepCopy();
         return new MagicAmplifierDecorator(copiedPlayer);
     }
+
+    // --- Fields ---
+    private static final long serialVersionUID = 1L;
 }
@@ -151,6 +151,7 @@ public abstract class PlayerDecorator extends PlayerCharacter {
     }
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     protected final PlayerCharacter decoratorPlayer;
 
 }
@@ -55,6 +55,7 @@ public class RegenerationDecorator extends PlayerDecorator {
 
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private final int regenAmount;
     private final long intervalMillis;
     private long lastRegenTime;
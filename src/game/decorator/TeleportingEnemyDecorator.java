@@ -14,9 +14,20 @@ public class TeleportingEnemyDecorator extends EnemyDecorator {
     /**
      * Constructs a new TeleportingEnemyDecorator for the given Enemy.
      * @param enemy the Enemy to be decorated
+     * @param map the map of the enemy's world, used to find a teleport destination and move there
      */
-    public TeleportingEnemyDecorator(Enemy enemy) {
+    public TeleportingEnemyDecorator(Enemy enemy, GameMap map) {
         super(enemy);
+        this.map = map;
+    }
+
+    /**
+     * Sets the map the enemy teleports on.
+     * The map is not saved with the enemy, so it is bound again when the enemy is read back from disk.
+     * @param map the map of the enemy's world
+     */
+    public void setMap(GameMap map) {
+        this.map = map;
     }
 
     /**
@@ -28,11 +39,9 @@ public class TeleportingEnemyDecorator extends EnemyDecorator {
     public void receiveDamage(int amount, Combatant source) {
         super.receiveDamage(amount, source);
 
-        if (!hasTeleported && getHealth() < getMaxHealth() * TELEPORT_THRESHOLD) {
-            GameMap map = GameMap.getInstance();
+        if (!hasTeleported && map != null && getHealth() < getMaxHealth() * TELEPORT_THRESHOLD) {
             Position newPos = map.getRandomEmptyPosition();
-            if (newPos != null) {
-                getDecoratorEnemy().setPosition(newPos);
+            if (newPos != null && map.tryMove(this, getPosition(), newPos)) {
                 hasTeleported = true;
                 LogManager.addLog("[TeleportingEnemyDecorator] Enemy teleported to " + newPos);
             }
@@ -41,6 +50,8 @@ public class TeleportingEnemyDecorator extends EnemyDecorator {
 
     // --- Fields ---
 
+    private static final long serialVersionUID = 1L;
     private static final double TELEPORT_THRESHOLD = 0.30;
+    private transient GameMap map;
     private volatile boolean hasTeleported = false;
 }
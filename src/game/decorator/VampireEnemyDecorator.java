@@ -36,6 +36,7 @@ public class VampireEnemyDecorator extends EnemyDecorator {
             LogManager.addLog("[VampireEnemy] Drained " + stolenAmount + " HP from player → Enemy health: " + newHealth + "/" + getMaxHealth());
         }
     }
-}
-
 
+    // --- Fields ---
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,188 @@
+package game.engine;
+
+import game.map.Position;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Level-of-detail scheduling of enemy behavior by distance from the player.
+ * Enemies within the near radius act every tick. Enemies within the mid radius act once every
+ * few ticks, staggered so that they do not all act on the same tick. Enemies further away go
+ * dormant: they are left out of ticks altogether and kept in a coarse spatial index, from which
+ * they are woken when the player comes within the mid radius of them (see {@link #wakeAround}).
+ * Dead enemies always run, so their respawn is scheduled on time.
+ */
+public class ActivityTiers {
+
+    /**
+     * Constructs the activity tiers of a world.
+     * @param gameWorld   The world whose enemies are tiered.
+     * @param nearRadius  The distance from the player up to which enemies act every tick.
+     * @param midRadius   The distance from the player up to which enemies stay awake.
+     * @param midInterval The number of ticks between two steps of a mid-range enemy.
+     * @throws IllegalArgumentException if the radii are not increasing or the interval is not positive.
+     */
+    public ActivityTiers(GameWorld gameWorld, int nearRadius, int midRadius, int midInterval) {
+        if (nearRadius < 0 || midRadius < nearRadius) {
+            throw new IllegalArgumentException("Invalid radii: near " + nearRadius + ", mid " + midRadius);
+        }
+        if (midInterval <= 0) {
+            throw new IllegalArgumentException("Mid-range interval must be positive: " + midInterval);
+        }
+        this.gameWorld = gameWorld;
+        this.nearRadius = nearRadius;
+        this.midRadius = midRadius;
+        this.midInterval = midInterval;
+    }
+
+    /**
+     * Picks the tasks that act in a tick and puts awake enemies that are out of range to sleep.
+     * @param tasks The enemy tasks of the world.
+     * @param tick  The number of the tick, used to stagger mid-range enemies.
+     * @return The tasks to run in this tick.
+     */
+    public List<EnemyTask> select(Collection<EnemyTask> tasks, long tick) {
+        Position player = gameWorld.getPlayer().getPosition();
+        List<EnemyTask> due = new ArrayList<>();
+        for (EnemyTask task : tasks) {
+            if (task.isEnemyDead()) {
+                if (task.isDormant()) {
+                    wake(task); // An enemy that died far from the player still has its respawn scheduled on time
+                }
+                due.add(task);
+                continue;
+            }
+            if (task.isDormant()) {
+                continue;
+            }
+            int distance = task.getEnemy().getPosition().distanceTo(player);
+            if (distance <= nearRadius) {
+                due.add(task);
+            } else if (distance <= midRadius) {
+                if ((tick + task.getPhase()) % midInterval == 0) {
+                    due.add(task);
+                }
+            } else {
+                trySleep(task);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Wakes every dormant enemy within the mid radius of a position.
+     * The world calls this whenever the player moves.
+     * @param center The player's new position.
+     */
+    public synchronized void wakeAround(Position center) {
+        int firstRow = Math.max(0, center.getRow() - midRadius) / BUCKET_SIZE;
+        int lastRow = (center.getRow() + midRadius) / BUCKET_SIZE;
+        int firstCol = Math.max(0, center.getCol() - midRadius) / BUCKET_SIZE;
+        int lastCol = (center.getCol() + midRadius) / BUCKET_SIZE;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                long key = bucketKey(row, col);
+                List<EnemyTask> bucket = dormantByBucket.get(key);
+                if (bucket == null) continue;
+
+                bucket.removeIf(task -> {
+                    if (task.getEnemy().getPosition().distanceTo(center) > midRadius) {
+                        return false;
+                    }
+                    task.setDormant(false);
+                    dormantCount--;
+                    return true;
+                });
+                if (bucket.isEmpty()) {
+                    dormantByBucket.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wakes every dormant enemy, for instance after the player jumped to another place.
+     */
+    public synchronized void wakeAll() {
+        for (List<EnemyTask> bucket : dormantByBucket.values()) {
+            for (EnemyTask task : bucket) {
+                task.setDormant(false);
+            }
+        }
+        dormantByBucket.clear();
+        dormantCount = 0;
+    }
+
+    /**
+     * Drops dormant tasks that left the world, such as the enemies of an evicted chunk.
+     * @param filter Selects the tasks to drop.
+     */
+    public synchronized void forget(Predicate<EnemyTask> filter) {
+        Iterator<List<EnemyTask>> buckets = dormantByBucket.values().iterator();
+        while (buckets.hasNext()) {
+            List<EnemyTask> bucket = buckets.next();
+            int before = bucket.size();
+            bucket.removeIf(filter);
+            dormantCount -= before - bucket.size();
+            if (bucket.isEmpty()) {
+                buckets.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of dormant enemies.
+     * @return The number of enemies left out of ticks until the player comes close.
+     */
+    public synchronized int getDormantCount() {
+        return dormantCount;
+    }
+
+    /**
+     * Puts a task to sleep unless the player came within range in the meantime.
+     * The player's position is read again under the lock, so a concurrent wakeAround
+     * either sees the task in the index or the task sees the player's new position.
+     * @param task The task to put to sleep.
+     */
+    private synchronized void trySleep(EnemyTask task) {
+        Position pos = task.getEnemy().getPosition();
+        if (pos.distanceTo(gameWorld.getPlayer().getPosition()) <= midRadius) {
+            return;
+        }
+        task.setDormant(true);
+        dormantCount++;
+        dormantByBucket.computeIfAbsent(bucketKey(pos.getRow() / BUCKET_SIZE, pos.getCol() / BUCKET_SIZE),
+                key -> new ArrayList<>()).add(task);
+    }
+
+    /**
+     * Takes one dormant task out of the spatial index.
+     * @param task The task to wake.
+     */
+    private synchronized void wake(EnemyTask task) {
+        if (task.isDormant()) {
+            forget(t -> t == task);
+            task.setDormant(false);
+        }
+    }
+
+    /**
+     * Combines the coordinates of a bucket of the spatial index into one key.
+     * @param row The bucket row.
+     * @param col The bucket column.
+     * @return The key of the bucket.
+     */
+    private static long bucketKey(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    // --- Fields ---
+    private static final int BUCKET_SIZE = 16;
+    private final GameWorld gameWorld;
+    private final int nearRadius;
+    private final int midRadius;
+    private final int midInterval;
+    private final Map<Long, List<EnemyTask>> dormantByBucket = new HashMap<>();
+    private int dormantCount;
+}
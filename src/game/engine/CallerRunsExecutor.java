@@ -0,0 +1,76 @@
+package game.engine;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor service that runs every task right away on the thread that submits it.
+ * Used by worlds in {@link ExecutionMode#SERIAL} and {@link ExecutionMode#SWEEP} mode, which create no threads of their own.
+ */
+final class CallerRunsExecutor extends AbstractExecutorService {
+
+    /**
+     * Runs a task on the calling thread.
+     * @param command The task to run.
+     * @throws RejectedExecutionException if the executor was shut down.
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        command.run();
+    }
+
+    /**
+     * Rejects further tasks.
+     */
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    /**
+     * Rejects further tasks. No task is ever waiting, so none is returned.
+     * @return An empty list.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        return List.of();
+    }
+
+    /**
+     * Checks whether the executor was shut down.
+     * @return true if shut down, false otherwise.
+     */
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Checks whether the executor was shut down; tasks never outlive their submit call.
+     * @return true if shut down, false otherwise.
+     */
+    @Override
+    public boolean isTerminated() {
+        return shutdown;
+    }
+
+    /**
+     * Returns at once, since no task is ever running in the background.
+     * @param timeout The maximum time to wait, unused.
+     * @param unit    The unit of the timeout, unused.
+     * @return true if the executor was shut down, false otherwise.
+     */
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return shutdown;
+    }
+
+    // --- Fields ---
+    private volatile boolean shutdown = false;
+}
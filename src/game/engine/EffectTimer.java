@@ -0,0 +1,279 @@
+package game.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed-wheel timer for delayed and periodic game effects such as enemy decoration, respawns and regeneration.
+ * Time is cut into ticks of a fixed length, and every scheduled effect is hashed by the tick it is due
+ * into one of a fixed number of buckets. A single thread advances one bucket per tick and runs the
+ * effects that are due, so thousands of pending effects cost one thread and no per-effect timer.
+ * Effects run on the timer thread and must be short; they fire within one tick of their due time.
+ * The thread is started on the first schedule and stops on {@link #shutdown()}.
+ * A timer can also be built without a thread; its time then only moves through {@link #advance(long)}.
+ */
+public class EffectTimer {
+
+    /**
+     * Constructs a timer without a thread, whose time only advances when {@link #advance(long)} is called.
+     * Due effects run on the thread that advances the timer.
+     * @param tickMillis The length of a tick in milliseconds, which is also the timer's precision.
+     * @param wheelSize  The number of buckets, rounded up to a power of two.
+     * @throws IllegalArgumentException if the tick length or the wheel size is not positive.
+     */
+    public EffectTimer(long tickMillis, int wheelSize) {
+        this(null, tickMillis, wheelSize);
+    }
+
+    /**
+     * Constructs a stopped timer.
+     * @param name       The name of the timer thread, or null for a timer without a thread.
+     * @param tickMillis The length of a tick in milliseconds, which is also the timer's precision.
+     * @param wheelSize  The number of buckets, rounded up to a power of two.
+     * @throws IllegalArgumentException if the tick length or the wheel size is not positive.
+     */
+    public EffectTimer(String name, long tickMillis, int wheelSize) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive: " + tickMillis);
+        }
+        if (wheelSize <= 0 || wheelSize > MAX_WHEEL_SIZE) {
+            throw new IllegalArgumentException("Wheel size out of range: " + wheelSize);
+        }
+        this.name = name;
+        this.manual = name == null;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int buckets = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+        this.mask = buckets - 1;
+        this.wheel = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Schedules an action to run once after a delay.
+     * After the timer was shut down, the action is never run and the returned effect is already cancelled.
+     * @param action      The action to run.
+     * @param delayMillis The delay in milliseconds.
+     * @return The handle of the scheduled action.
+     */
+    public ScheduledEffect schedule(Runnable action, long delayMillis) {
+        return add(new ScheduledEffect(action, deadlineAfter(delayMillis), 0));
+    }
+
+    /**
+     * Schedules an action to run repeatedly, every period, until cancelled.
+     * After the timer was shut down, the action is never run and the returned effect is already cancelled.
+     * @param action             The action to run.
+     * @param initialDelayMillis The delay before the first run in milliseconds.
+     * @param periodMillis       The time between runs in milliseconds.
+     * @return The handle of the scheduled action.
+     * @throws IllegalArgumentException if the period is not positive.
+     */
+    public ScheduledEffect scheduleAtFixedRate(Runnable action, long initialDelayMillis, long periodMillis) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + periodMillis);
+        }
+        long periodTicks = Math.max(1, TimeUnit.MILLISECONDS.toNanos(periodMillis) / tickNanos);
+        return add(new ScheduledEffect(action, deadlineAfter(initialDelayMillis), periodTicks));
+    }
+
+    /**
+     * Moves the time of a timer without a thread forward and runs the effects that became due,
+     * in order, on the calling thread.
+     * @param millis The time to advance by, in milliseconds.
+     * @throws IllegalStateException if the timer has its own thread.
+     */
+    public synchronized void advance(long millis) {
+        if (!manual) {
+            throw new IllegalStateException("Timer " + name + " runs on its own thread");
+        }
+        manualNanos += TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+        long lastTick = manualNanos / tickNanos;
+        while (!shutdown && manualTick < lastTick) {
+            manualTick++;
+            transferIncoming(manualTick);
+            expireBucket(manualTick);
+        }
+    }
+
+    /**
+     * Checks whether the timer runs on its own thread.
+     * @return true if effects run on the timer thread, false if they run in {@link #advance(long)}.
+     */
+    public boolean isThreaded() {
+        return !manual;
+    }
+
+    /**
+     * Stops the timer thread. Pending effects are dropped and never run.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (worker != null) {
+            LockSupport.unpark(worker);
+        }
+        ScheduledEffect effect;
+        while ((effect = incoming.poll()) != null) {
+            effect.cancel();
+        }
+    }
+
+    /**
+     * Checks whether the timer was shut down.
+     * @return true if shut down, false otherwise.
+     */
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Hands a new effect to the timer thread, starting the thread if needed.
+     * @param effect The effect to add.
+     * @return The same effect.
+     */
+    private ScheduledEffect add(ScheduledEffect effect) {
+        if (shutdown) {
+            effect.cancel();
+            return effect;
+        }
+        incoming.add(effect);
+        if (worker == null && !manual) {
+            start();
+        }
+        return effect;
+    }
+
+    /**
+     * Starts the timer thread unless it is running or the timer was shut down.
+     */
+    private synchronized void start() {
+        if (worker != null || shutdown) {
+            return;
+        }
+        worker = new Thread(this::runWheel, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Converts a delay into the tick at which it expires, counted from the timer's creation.
+     * @param delayMillis The delay in milliseconds.
+     * @return The first tick at or after the end of the delay.
+     */
+    private long deadlineAfter(long delayMillis) {
+        long now = manual ? manualNanos : System.nanoTime() - startNanos;
+        long due = now + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMillis));
+        return (due + tickNanos - 1) / tickNanos;
+    }
+
+    /**
+     * Body of the timer thread: waits for each tick and runs the effects that are due.
+     */
+    private void runWheel() {
+        long tick = (System.nanoTime() - startNanos) / tickNanos;
+        while (!shutdown) {
+            long wakeAt = startNanos + (tick + 1) * tickNanos;
+            long wait;
+            while (!shutdown && (wait = wakeAt - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+            }
+            if (shutdown) {
+                break;
+            }
+            tick++;
+            transferIncoming(tick);
+            expireBucket(tick);
+        }
+        for (List<ScheduledEffect> bucket : wheel) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * Moves newly scheduled effects into their buckets.
+     * An effect whose tick already passed goes into the current bucket.
+     * @param tick The tick about to be expired.
+     */
+    private void transferIncoming(long tick) {
+        ScheduledEffect effect;
+        while ((effect = incoming.poll()) != null) {
+            if (!effect.isCancelled()) {
+                insert(effect, tick);
+            }
+        }
+    }
+
+    /**
+     * Runs the due effects of a tick's bucket and puts periodic effects back on the wheel.
+     * Effects of the bucket that are due in a later round of the wheel stay in place.
+     * @param tick The tick to expire.
+     */
+    private void expireBucket(long tick) {
+        List<ScheduledEffect> bucket = wheel.get((int) (tick & mask));
+        due.clear();
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            ScheduledEffect effect = bucket.get(i);
+            if (effect.isCancelled()) {
+                continue;
+            }
+            if (effect.deadlineTick <= tick) {
+                due.add(effect);
+            } else {
+                bucket.set(kept++, effect);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+
+        for (ScheduledEffect effect : due) {
+            if (effect.isCancelled()) {
+                continue;
+            }
+            try {
+                effect.action.run();
+            } catch (RuntimeException e) {
+                System.err.println("Timed effect failed: " + e);
+            }
+            if (effect.isPeriodic()) {
+                effect.deadlineTick += effect.periodTicks;
+                insert(effect, tick + 1);
+            } else {
+                effect.cancel();
+            }
+        }
+        due.clear();
+    }
+
+    /**
+     * Puts an effect into the bucket of its deadline, or of the earliest tick if the deadline is earlier.
+     * @param effect   The effect to insert.
+     * @param earliest The earliest tick the effect may be run at.
+     */
+    private void insert(ScheduledEffect effect, long earliest) {
+        if (effect.deadlineTick < earliest) {
+            effect.deadlineTick = earliest;
+        }
+        wheel.get((int) (effect.deadlineTick & mask)).add(effect);
+    }
+
+    // --- Fields ---
+    private static final int MAX_WHEEL_SIZE = 1 << 16;
+    private final String name;
+    private final boolean manual;
+    private final long tickNanos;
+    private final long startNanos;
+    private final int mask;
+    private final List<List<ScheduledEffect>> wheel;
+    private final List<ScheduledEffect> due = new ArrayList<>();
+    private final Queue<ScheduledEffect> incoming = new ConcurrentLinkedQueue<>();
+    private volatile Thread worker;
+    private volatile boolean shutdown = false;
+    private volatile long manualNanos;
+    private long manualTick;
+}
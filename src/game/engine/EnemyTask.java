@@ -3,21 +3,18 @@ package game.engine;
 
 import game.audio.SoundPlayer;
 import game.characters.Enemy;
-import game.characters.EnemyFactory;
 import game.characters.PlayerCharacter;
+import game.core.GameRandom;
 import game.log.LogManager;
 import game.map.Position;
 
-import javax.swing.*;
-import java.util.Random;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Runnable task that defines the behavior of an enemy character in the game world.
  * The enemy either moves randomly or towards the player, depending on proximity and chance.
+ * Each run is one step of the enemy; the world's {@link TickScheduler} runs it once per tick.
  */
 public class EnemyTask implements Runnable {
 
@@ -29,82 +26,81 @@ public class EnemyTask implements Runnable {
     public EnemyTask(Enemy enemy, GameWorld gameWorld) {
         this.enemy = enemy;
         this.gameWorld = gameWorld;
+        this.random = gameWorld.splitRandom();
+        this.phase = random.nextInt(Integer.MAX_VALUE);
     }
 
     /**
      * Main logic executed when the task runs.
      * If the enemy is alive, it will attempt to move toward the player if within range,
      * or move randomly with a 20% chance otherwise.
+     * All randomness of the step, including combat, is drawn from the task's own generator.
      */
     public void run() {
-        SoundPlayer soundPlayer = new SoundPlayer();
-        if (!gameWorld.getIsGameRunning().get()) return;
-
-        if (enemy.isDead()) {
-            Position oldPos = enemy.getPosition();
-            ReentrantLock oldLock = GameWorld.getMapLock(oldPos);
-            oldLock.unlock();
-
-            try {
-                gameWorld.getEnemies().remove(enemy);
-                if (gameWorld.getEnemies().size() < 10) {
-
-                    Position newPos = gameWorld.getMap().getRandomEmptyPosition();
-                    ReentrantLock newLock = GameWorld.getMapLock(newPos);
-                    if (newLock.tryLock(100, TimeUnit.MILLISECONDS)){
-                        try {
-                            if (newPos == null) throw new NullPointerException("newPos is null");
-
-                            EnemyFactory factory = new EnemyFactory();
-                            Enemy newEnemy = factory.createEnemy(newPos);
-                            if (newEnemy == null) throw new NullPointerException("newEnemy is null");
-
-                            gameWorld.getEnemies().add(newEnemy);
-                            gameWorld.getMap().addToGrid(newPos, newEnemy);
-
-                            EnemyTask newTask = new EnemyTask(newEnemy, gameWorld);
-                            gameWorld.getEnemyTasks().add(newTask);
-                            gameWorld.getEnemyExecutor().submit(newTask);
-
-                        } catch (NullPointerException e) {
-                            System.err.println("Null pointer issue: " + e.getMessage());
-                        } catch (IllegalArgumentException e) {
-                            System.err.println("Illegal argument: " + e.getMessage());
-                        } catch (RejectedExecutionException e) {
-                            System.err.println("Executor rejected the task: " + e.getMessage());
-                        } catch (Exception e) {
-                            System.err.println("Unexpected error: " + e.getMessage());
-                            e.printStackTrace();
-                        }
-
-                    }
-                }
-
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
-            } finally {
-                oldLock.unlock();
-            }
+        RandomGenerator previous = GameRandom.bind(random);
+        try {
+            act();
+        } finally {
+            GameRandom.bind(previous);
+        }
+    }
+
+    /**
+     * Makes an attack that was deferred by a region ticker, drawing combat randomness from the task's own generator.
+     * The enemy only attacks if the player is still in range.
+     * @param player The player to attack.
+     */
+    void attackDeferred(PlayerCharacter player) {
+        RandomGenerator previous = GameRandom.bind(random);
+        try {
+            attack(player);
+        } finally {
+            GameRandom.bind(previous);
+        }
+    }
+
+    /**
+     * Takes one step of the enemy: hands it to the world for a later respawn if dead, otherwise chases, attacks or wanders.
+     */
+    private void act() {
+        if (stopped || !gameWorld.getIsGameRunning().get()) return;
+
+        Enemy current = enemy;
+        if (current.isDead()) {
+            gameWorld.getEnemyTasks().remove(this);
+            gameWorld.respawnLater(current);
             return;
         }
-        PlayerCharacter player = gameWorld.getPlayer();
-        Position enemyPos = enemy.getPosition();
-        Position playerPos = player.getPosition();
+        PlayerCharacter player = gameWorld.getMap().findNearest(enemy.getPosition(), CHASE_RADIUS, PlayerCharacter.class);
 
-        if (enemyPos.distanceTo(playerPos) <= 2) {
+        if (player != null) {
+            Position playerPos = player.getPosition();
             moveTowards(playerPos);
-            if (enemy.isInRange(enemy.getPosition(),playerPos)){
-                enemy.attack(player);
-                SoundPlayer.playSound("classic_attack.wav");
+            if (region != null) {
+                // The player is shared by every region, so its health is only changed in the serial phase
+                region.deferAttack(this, player);
+            } else {
+                attack(player);
             }
-        } else if (random.nextDouble() <= 0.2) {
+        } else if (random.nextDouble() <= WANDER_CHANCE) {
             moveRandomly();
         }
+    }
 
-        try {
-            Thread.sleep(300);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    /**
+     * Attacks the player if it is in range of the enemy.
+     * @param player The player to attack.
+     */
+    private void attack(PlayerCharacter player) {
+        if (enemy.isInRange(enemy.getPosition(), player.getPosition())) {
+            enemy.attack(player);
+            // Both health bars may have changed, without either entity changing cells
+            gameWorld.getMap().markDirty(player.getPosition());
+            gameWorld.getMap().markDirty(enemy.getPosition());
+            gameWorld.requestNotify();
+            if (gameWorld.getController() != null) {
+                SoundPlayer.playSound("classic_attack.wav");
+            }
         }
     }
 
@@ -121,10 +117,10 @@ public class EnemyTask implements Runnable {
 
         if (Math.abs(rowDiff) > 0) {
             int dx = Integer.compare(rowDiff, 0);
-            newPos = new Position(currentPos.getRow() + dx, currentPos.getCol());
+            newPos = Position.of(currentPos.getRow() + dx, currentPos.getCol());
         } else if (Math.abs(colDiff) > 0) {
             int dy = Integer.compare(colDiff, 0);
-            newPos = new Position(currentPos.getRow(), currentPos.getCol() + dy);
+            newPos = Position.of(currentPos.getRow(), currentPos.getCol() + dy);
         } else {
             return; // Already at target position.
         }
@@ -137,9 +133,8 @@ public class EnemyTask implements Runnable {
      */
     private void moveRandomly() {
         Position currentPos = enemy.getPosition();
-        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
-        int[] dir = directions[random.nextInt(directions.length)];
-        Position newPos = new Position(currentPos.getRow() + dir[0], currentPos.getCol() + dir[1]);
+        int[] dir = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+        Position newPos = Position.of(currentPos.getRow() + dir[0], currentPos.getCol() + dir[1]);
 
         attemptMove(newPos);
     }
@@ -147,7 +142,8 @@ public class EnemyTask implements Runnable {
     /**
      * Attempts to move the enemy to the specified position.
      * If the destination is within bounds and unoccupied, the enemy moves there.
-     * Thread-safe with locking to prevent conflicts with other entities.
+     * When the task runs inside a region and the destination lies in another region,
+     * the move is handed to the region ticker instead.
      * @param newPos The destination position for the enemy.
      */
     private void attemptMove(Position newPos) {
@@ -155,54 +151,107 @@ public class EnemyTask implements Runnable {
             LogManager.addLog("Enemy tried to move out of bounds: " + newPos);
             return;
         }
+        if (region != null && !region.isSameRegion(enemy.getPosition(), newPos)) {
+            region.defer(this, newPos);
+            return;
+        }
+        moveTo(newPos);
+    }
 
-        ReentrantLock lock = GameWorld.getMapLock(newPos);
+    /**
+     * Moves the enemy to the specified position if it is unoccupied.
+     * Thread-safe: the map moves the enemy with both cells locked, so it never shows up in two cells or none.
+     * @param newPos The destination position for the enemy.
+     */
+    void moveTo(Position newPos) {
+        if (gameWorld.getMap().tryMove(enemy, enemy.getPosition(), newPos)) {
+            LogManager.addLog("Enemy moved to: " + enemy.getPosition());
+            gameWorld.requestNotify();
+        }
+    }
+
+    /**
+     * Runs one step of the enemy as part of a region of the map.
+     * Moves into other regions and attacks on the player are deferred to the region ticker.
+     * @param ticker The region ticker running this step.
+     */
+    void runInRegion(RegionTicker ticker) {
+        region = ticker;
         try {
-            if (lock.tryLock(100, TimeUnit.MILLISECONDS)) {
-                try {
-                    if (gameWorld.getMap().isEmpty(newPos)) {
-                        Position oldPos = enemy.getPosition();
-                        gameWorld.getMap().removeFromGrid(oldPos, enemy);
-                        enemy.setPosition(newPos);
-                        LogManager.addLog("Enemy moved to: " + enemy.getPosition());
-                        gameWorld.getMap().addToGrid(newPos, enemy);
-
-
-                        if (gameWorld.getController() != null) {
-                            SwingUtilities.invokeLater(gameWorld::notifyObservers);
-                        }
-                    }
-                } finally {
-                    lock.unlock();
-                }
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Restore interrupted status
+            run();
+        } finally {
+            region = null;
         }
     }
 
     /**
-     * Stops the enemy's scheduled behavior by canceling the scheduled task.
+     * Stops the enemy's behavior; later runs do nothing.
      */
     public void stop() {
-        if (scheduledTask != null) {
-            scheduledTask.cancel(true);
-        }
+        stopped = true;
+    }
+
+    /**
+     * Checks whether the enemy is dormant, i.e. left out of ticks until the player comes close.
+     * @return true if dormant, false otherwise.
+     */
+    boolean isDormant() {
+        return dormant;
+    }
+
+    /**
+     * Marks the enemy as dormant or awake. Only {@link ActivityTiers} changes this.
+     * @param dormant true to put the enemy to sleep, false to wake it.
+     */
+    void setDormant(boolean dormant) {
+        this.dormant = dormant;
     }
 
     /**
-     * Sets the scheduled task associated with this enemy's behavior.
-     * This allows the task to be canceled later.
-     * @param task The scheduled future task controlling this enemy.
+     * Gets the fixed random offset that staggers this task among tasks that run every few ticks.
+     * @return A non-negative phase.
      */
-    public void setScheduledTask(ScheduledFuture<?> task) {
-        this.scheduledTask = task;
+    int getPhase() {
+        return phase;
+    }
+
+    /**
+     * Checks whether the enemy is dead, by its health alone.
+     * Unlike {@link Enemy#isDead()}, this never sets off a decorator's death effect,
+     * such as an exploding enemy's blast, so the scheduler may call it as often as it likes.
+     * @return true if the enemy has no health left.
+     */
+    boolean isEnemyDead() {
+        return enemy.getHealth() <= 0;
+    }
+
+    /**
+     * Gets the enemy controlled by this task.
+     * @return The enemy.
+     */
+    public Enemy getEnemy() {
+        return enemy;
+    }
+
+    /**
+     * Hands the task a new enemy that stands for the current one, such as the current enemy wrapped in a decorator.
+     * The next step moves the new enemy.
+     * @param enemy The enemy to control from now on.
+     */
+    void setEnemy(Enemy enemy) {
+        this.enemy = enemy;
     }
 
     // --- Fields ---
-    private final Enemy enemy;
+    static final int CHASE_RADIUS = 2;
+    static final double WANDER_CHANCE = 0.2;
+    static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private volatile Enemy enemy;
     private final GameWorld gameWorld;
-    private final Random random = new Random();
-    private ScheduledFuture<?> scheduledTask;
+    private final SplittableRandom random;
+    private final int phase;
+    private volatile boolean dormant = false;
+    private volatile boolean stopped = false;
+    private RegionTicker region;
 }
 
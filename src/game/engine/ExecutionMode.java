@@ -0,0 +1,74 @@
+package game.engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents the ways a game world can run the behavior of its enemies.
+ * The mode is chosen when the world is created.
+ */
+public enum ExecutionMode {
+    /**
+     * Enemy behaviors share a small pool of platform threads, at most 10.
+     * A behavior that blocks holds one of the pool threads until it continues.
+     */
+    FIXED_POOL,
+    /**
+     * Every enemy behavior runs on its own virtual thread.
+     * A behavior that blocks releases its carrier thread, so blocking never limits
+     * how many enemies can act at once.
+     */
+    VIRTUAL_THREADS,
+    /**
+     * The map is split into square regions whose enemies are run in parallel as
+     * ForkJoin tasks, one region per task, using every available core.
+     * Moves between regions and attacks on the player are made in a short serial phase at the end of each tick.
+     */
+    REGIONS,
+    /**
+     * Enemy behaviors and timed effects run one after another on the thread that steps the
+     * world (see {@link GameWorld#step()}), and the world creates no threads of its own.
+     * Meant for headless runs where many worlds run side by side.
+     */
+    SERIAL,
+    /**
+     * Like {@link #SERIAL}, but instead of one task per enemy a {@link SweepEngine} sweeps arrays of
+     * enemy state once per tick, so enemies that are asleep or waiting for their turn cost almost nothing.
+     * Plays out exactly like {@link #SERIAL} for the same seed.
+     * Meant for headless runs with very many enemies.
+     */
+    SWEEP;
+
+    /**
+     * Checks whether worlds in this mode run everything on the thread that steps them and create no threads.
+     * @return true for {@link #SERIAL} and {@link #SWEEP}, false otherwise
+     */
+    public boolean isStepped() {
+        return this == SERIAL || this == SWEEP;
+    }
+
+    /**
+     * Creates the executor that runs enemy behaviors in this mode.
+     * @param mapSize the size of the world's map, used to size the fixed pool
+     * @return a new executor service
+     */
+    public ExecutorService createExecutor(int mapSize) {
+        switch (this) {
+            case VIRTUAL_THREADS:
+                return Executors.newVirtualThreadPerTaskExecutor();
+            case REGIONS:
+                return new ForkJoinPool();
+            case SERIAL:
+            case SWEEP:
+                return new CallerRunsExecutor();
+            case FIXED_POOL:
+            default:
+                int threads = (int) (mapSize * (long) mapSize * 0.03);
+                return Executors.newFixedThreadPool(Math.max(1, Math.min(threads, MAX_POOL_THREADS)));
+        }
+    }
+
+    // --- Fields ---
+    private static final int MAX_POOL_THREADS = 10;
+}
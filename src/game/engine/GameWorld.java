@@ -4,16 +4,20 @@ import game.controller.GameController;
 import game.characters.*;
 import game.combat.CombatSystem;
 import game.core.GameEntity;
+import game.core.GameRandom;
 import game.decorator.*;
 import game.gameSaver.GameMemento;
 import game.items.*;
 import game.log.LogManager;
+import game.map.ChunkListener;
 import game.map.GameMap;
 import game.map.Position;
+import game.map.VisibleCells;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
 import game.observer.GameObserver;
 
 
@@ -34,17 +38,68 @@ public class GameWorld {
      * @param decorators   A list of decorators to apply to the player character.
      */
     public GameWorld(int size, int playerType, String playerName, Map<String, Integer> attributes, MagicElement element, List<String> decorators) {
-        this.map = GameMap.getInstance(size);
+        this(size, playerType, playerName, attributes, element, decorators, ExecutionMode.FIXED_POOL);
+    }
+
+    /**
+     * Constructs a GameWorld with the specified parameters and enemy execution mode.
+     * Initializes the game map, players, enemies, items, and enemy tasks.
+     * @param size          The size of the game map (size x size).
+     * @param playerType    The type of player character to create.
+     * @param playerName    The name of the player character.
+     * @param attributes    A map of attributes for the player character.
+     * @param element       The magic element associated with the player character.
+     * @param decorators    A list of decorators to apply to the player character.
+     * @param executionMode How enemy behaviors are run.
+     */
+    public GameWorld(int size, int playerType, String playerName, Map<String, Integer> attributes, MagicElement element, List<String> decorators, ExecutionMode executionMode) {
+        this(size, playerType, playerName, attributes, element, decorators, executionMode, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a GameWorld whose randomness all derives from the given seed.
+     * A world in {@link ExecutionMode#SERIAL} or {@link ExecutionMode#SWEEP} mode that is played the same way
+     * replays exactly for the same seed, and the two modes play out the same.
+     * @param size          The size of the game map (size x size).
+     * @param playerType    The type of player character to create.
+     * @param playerName    The name of the player character.
+     * @param attributes    A map of attributes for the player character.
+     * @param element       The magic element associated with the player character.
+     * @param decorators    A list of decorators to apply to the player character.
+     * @param executionMode How enemy behaviors are run.
+     * @param seed          The seed of the world's random source.
+     */
+    @SuppressWarnings("this-escape") // The scheduler and tiers do not call back into the world before the first tick
+    public GameWorld(int size, int playerType, String playerName, Map<String, Integer> attributes, MagicElement element, List<String> decorators, ExecutionMode executionMode, long seed) {
+        this.seed = seed;
+        this.seedSource = new SplittableRandom(seed);
+        this.playerRandom = seedSource.split();
+        this.effectRandom = seedSource.split();
+        this.map = new GameMap(size);
         this.players = new ArrayList<>();
-        this.enemies = new ArrayList<>();
-        this.items = new ArrayList<>();
-        this.enemyTasks = new ArrayList<>();
-        int N = (int) (map.getSize() * map.getSize() * 0.03);
-        if (N > 10)
-            N = 10;
-        this.enemyExecutor = Executors.newFixedThreadPool(N);
-        createPlayer(playerType, playerName, attributes, element,decorators);
-        populateGameMap();
+        this.enemies = new CopyOnWriteArrayList<>();
+        this.items = new CopyOnWriteArrayList<>();
+        this.enemyTasks = new CopyOnWriteArrayList<>();
+        this.executionMode = executionMode;
+        this.enemyExecutor = executionMode.createExecutor(map.getSize());
+        this.effectTimer = executionMode.isStepped()
+                ? new EffectTimer(EFFECT_TICK_MILLIS, EFFECT_WHEEL_SIZE)
+                : new EffectTimer("game-effects", EFFECT_TICK_MILLIS, EFFECT_WHEEL_SIZE);
+        this.tickScheduler = new TickScheduler(this, DEFAULT_TICK_MILLIS);
+        this.activityTiers = new ActivityTiers(this, NEAR_ACTIVITY_RADIUS, MID_ACTIVITY_RADIUS, MID_ACTIVITY_INTERVAL);
+        this.sweepEngine = executionMode == ExecutionMode.SWEEP
+                ? new SweepEngine(this, NEAR_ACTIVITY_RADIUS, MID_ACTIVITY_RADIUS, MID_ACTIVITY_INTERVAL)
+                : null;
+        if (map.isChunked()) {
+            map.setChunkListener(createChunkListener());
+        }
+        RandomGenerator previous = GameRandom.bind(splitRandom());
+        try {
+            createPlayer(playerType, playerName, attributes, element,decorators);
+            populateGameMap();
+        } finally {
+            GameRandom.bind(previous);
+        }
     }
 
     /**
@@ -66,49 +121,66 @@ public class GameWorld {
         }
         if (from.distanceTo(to) >= 2) return false;
 
-        List<GameEntity> entities = map.getEntitiesAt(to);
-        for (GameEntity entity : entities) {
-            if (entity instanceof Wall) {
-                LogManager.addLog("Cannot move through wall at " + to);
-                return false;
-            }
+        if (map.hasAny(to, GameMap.WALL)) {
+            LogManager.addLog("Cannot move through wall at " + to);
+            return false;
         }
         return true;
     }
 
     /**
      * Moves the player character to a new position on the map.
+     * The move fails if a character or a wall reached the destination first.
      * Updates the player's position, logs the move, and updates the map grid.
      * @param newPos The new position to move the player to.
+     * @return true if the player moved, false otherwise.
      */
-    public void movePlayerTo(Position newPos) {
+    public boolean movePlayerTo(Position newPos) {
         PlayerCharacter player = getPlayer();
         Position oldPos = player.getPosition();
-        player.setPosition(newPos);
+        if (!map.tryMove(player, oldPos, newPos, GameMap.PLAYER | GameMap.ENEMY | GameMap.WALL)) {
+            LogManager.addLog("Player could not move from " + oldPos + " to " + newPos);
+            return false;
+        }
         LogManager.addLog("Player moved from " + oldPos + " to " + newPos);
-        map.removeFromGrid(oldPos, player);
-        map.addToGrid(newPos, player);
+        updateVisibleCells();
+        activityTiers.wakeAround(newPos);
+        return true;
     }
 
 
     /**
      * Fights an enemy at the specified position.
+     * The cell stays locked during the fight, so no enemy can move in while a defeated enemy is replaced by its treasure.
      * @param pos The position where the enemy is located.
      */
     public void fightEnemyAt(Position pos) {
-        List<GameEntity> entities = map.getEntitiesAt(pos);
-        for (GameEntity entity : entities) {
-            if (entity instanceof Enemy enemy) {
-                CombatSystem.resolveCombat(getPlayer(), enemy);
-                if (enemy.isDead()) {
-                    Treasure treasure = enemy.defeat();
-                    map.removeFromGrid(pos, entity);
-                    enemies.remove(enemy);
-                    map.addToGrid(pos, treasure);
-                    items.add(treasure);
+        RandomGenerator previous = GameRandom.bind(playerRandom);
+        ReentrantLock lock = getMapLock(pos);
+        lock.lock();
+        try {
+            List<GameEntity> entities = map.getEntitiesAt(pos);
+            for (GameEntity entity : entities) {
+                if (entity instanceof Enemy enemy) {
+                    CombatSystem.resolveCombat(getPlayer(), enemy);
+                    map.markDirty(pos); // Health bars changed
+                    if (sweepEngine != null) {
+                        sweepEngine.update(enemy); // Its health changed, and a teleporting enemy may have moved
+                    }
+                    if (enemy.isDead()) {
+                        Treasure treasure = enemy.defeat();
+                        map.removeFromGrid(pos, entity);
+                        enemies.removeIf(e -> e == enemy);
+                        cancelDecoration(enemy);
+                        map.addToGrid(pos, treasure);
+                        items.add(treasure);
+                    }
+                    break;
                 }
-                break;
             }
+        } finally {
+            lock.unlock();
+            GameRandom.bind(previous);
         }
     }
 
@@ -118,29 +190,64 @@ public class GameWorld {
      * @param pos The position where the item is located.
      */
     public void pickUpItemAt(Position pos) {
-        List<GameEntity> entities = map.getEntitiesAt(pos);
-        for (GameEntity entity : entities) {
-            if (entity instanceof Interactable item) {
-                item.collect(getPlayer());
-                map.removeFromGrid(pos, entity);
-                items.remove(item);
-                break;
+        RandomGenerator previous = GameRandom.bind(playerRandom);
+        ReentrantLock lock = getMapLock(pos);
+        lock.lock();
+        try {
+            List<GameEntity> entities = map.getEntitiesAt(pos);
+            for (GameEntity entity : entities) {
+                if (entity instanceof Interactable item) {
+                    item.collect(getPlayer());
+                    map.removeFromGrid(pos, entity);
+                    items.removeIf(i -> i == item);
+                    break;
+                }
             }
+        } finally {
+            lock.unlock();
+            GameRandom.bind(previous);
         }
     }
 
     /**
      * Checks if a position is visible to the player based on distance.
-     * A position is considered visible if it is within 2 tiles of the player's position.
+     * A position is considered visible if it is within the visibility radius of the player's position.
      * @param row The row of the position to check.
      * @param col The column of the position to check.
      * @return true if the position is visible to the player, false otherwise.
      */
     public boolean isVisibleToPlayer(int row, int col) {
-        Position playerPos = getPlayer().getPosition();
-        Position newPos = new Position(row, col);
-        int distance = playerPos.distanceTo(newPos);
-        return distance <= 2;
+        return visibleCells.contains(row, col);
+    }
+
+    /**
+     * Gets the cells currently visible to the player.
+     * The set is recomputed only when the player moves or the visibility radius changes.
+     * @return The visible cells.
+     */
+    public VisibleCells getVisibleCells() {
+        return visibleCells;
+    }
+
+    /**
+     * Gets the number of tiles the player can see in every direction.
+     * @return The visibility radius.
+     */
+    public int getVisibilityRadius() {
+        return visibilityRadius;
+    }
+
+    /**
+     * Sets the number of tiles the player can see in every direction.
+     * @param visibilityRadius The new visibility radius.
+     * @throws IllegalArgumentException if the radius is negative.
+     */
+    public void setVisibilityRadius(int visibilityRadius) {
+        if (visibilityRadius < 0) {
+            throw new IllegalArgumentException("Visibility radius must not be negative");
+        }
+        this.visibilityRadius = visibilityRadius;
+        updateVisibleCells();
     }
 
     /**
@@ -153,6 +260,8 @@ public class GameWorld {
 
     /**
      * Gets the list of enemies in the game world.
+     * Enemy tasks, the effect timer and the event dispatch thread all change it, so it is a
+     * copy-on-write list: iterating it never fails, and sees the list as it was when iteration began.
      * @return A list of PlayerCharacter objects.
      */
     public List<Enemy> getEnemies() {
@@ -177,6 +286,7 @@ public class GameWorld {
 
     /**
      * Gets the list of items in the game world.
+     * Like the enemy list, it is a copy-on-write list that any thread may change.
      * @return A list of items
      */
     public List<GameItem> getItems() {
@@ -185,14 +295,96 @@ public class GameWorld {
 
     /**
      * Starts the enemy tasks to control enemy behavior in the game world.
-     * Each enemy is assigned a task that runs in a separate thread.
+     * Each enemy is assigned a task, and the tick scheduler runs every task once per tick.
      */
     public void startEnemyTask() {
+        enemyTasksStarted = true;
         for (Enemy enemy : enemies) {
-            EnemyTask enemy_Task = new EnemyTask(enemy, this);
-            enemyTasks.add(enemy_Task);
-            enemyExecutor.submit(enemy_Task);
+            startEnemyTask(enemy);
+        }
+        tickScheduler.start();
+    }
+
+    /**
+     * Runs one tick of the world on the calling thread instead of waiting for the tick clock.
+     * The enemy tasks are created on the first step. Used to drive worlds in
+     * {@link ExecutionMode#SERIAL} and {@link ExecutionMode#SWEEP} mode, which never start their clock.
+     */
+    public void step() {
+        if (!enemyTasksStarted) {
+            enemyTasksStarted = true;
+            for (Enemy enemy : enemies) {
+                startEnemyTask(enemy);
+            }
         }
+        tickScheduler.step();
+    }
+
+    /**
+     * Gets the seed all of this world's randomness derives from.
+     * @return The seed of the world's random source.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Creates a generator split from the world's seed, for a task or thread of its own.
+     * Generators are handed out in a fixed order from one seed, so a world that creates
+     * them in the same order gets the same sequences.
+     * @return A new generator independent of every other one of this world.
+     */
+    public SplittableRandom splitRandom() {
+        synchronized (seedSource) {
+            return seedSource.split();
+        }
+    }
+
+    /**
+     * Gets the scheduler that drives enemy behavior.
+     * Use it to pause, resume or speed up the simulation.
+     * @return The tick scheduler of this world.
+     */
+    public TickScheduler getTickScheduler() {
+        return tickScheduler;
+    }
+
+    /**
+     * Gets the level-of-detail tiers that decide which enemies act in a tick.
+     * @return The activity tiers of this world.
+     */
+    public ActivityTiers getActivityTiers() {
+        return activityTiers;
+    }
+
+    /**
+     * Gets the timer that runs this world's delayed and periodic effects,
+     * such as enemy decoration and regeneration. It is shut down with the world.
+     * @return The effect timer of this world.
+     */
+    public EffectTimer getEffectTimer() {
+        return effectTimer;
+    }
+
+    /**
+     * Gets the engine that sweeps the enemies of a world in {@link ExecutionMode#SWEEP} mode.
+     * @return The sweep engine, or null in every other mode.
+     */
+    SweepEngine getSweepEngine() {
+        return sweepEngine;
+    }
+
+    /**
+     * Takes a dead enemy out of the world and schedules a new enemy on the effect timer
+     * to take its place after RESPAWN_DELAY_MILLIS. The dead enemy's pending decoration is cancelled.
+     * Called by the enemy's task, which removes itself.
+     * @param dead The enemy that died.
+     */
+    void respawnLater(Enemy dead) {
+        enemies.removeIf(e -> e == dead);
+        cancelDecoration(dead);
+        pendingRespawns.removeIf(ScheduledEffect::isCancelled); // The timer cancels a respawn once it ran
+        pendingRespawns.add(effectTimer.schedule(this::respawnEnemy, RESPAWN_DELAY_MILLIS));
     }
 
     /**
@@ -205,10 +397,23 @@ public class GameWorld {
 
     /**
      * Sets the game map for the game world.
+     * The chunk listener moves to the new map and the player's visible cells are recomputed on it.
+     * A chunked map must not have been touched yet, since its chunks are filled through the listener.
      * @param map The GameMap object to set.
      */
     public void setMap(GameMap map) {
+        GameMap previous = this.map;
         this.map = map;
+        if (previous != null && previous != map) {
+            previous.setChunkListener(null);
+        }
+        if (map.isChunked()) {
+            map.setChunkListener(createChunkListener());
+        }
+        visibleCells = null; // The old cells belong to the old map, so there is nothing to compare with
+        if (!players.isEmpty()) {
+            updateVisibleCells();
+        }
     }
 
     /**
@@ -227,11 +432,25 @@ public class GameWorld {
         return enemyExecutor;
     }
 
+    /**
+     * Gets the mode this world runs enemy behaviors in.
+     * @return The execution mode chosen when the world was created.
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
     /**
      * Shuts down the game world, stopping all enemy tasks and cleaning up resources.
      * This method ensures that all enemy tasks are stopped gracefully and the executor service is shut down.
      */
     public void shutdown() {
+        tickScheduler.stop();
+        cancelEffects();
+        effectTimer.shutdown();
+        if (observerDispatcher != null) {
+            observerDispatcher.stop();
+        }
         // Stop all enemy tasks
         for (EnemyTask ET : enemyTasks) {
             ET.stop();
@@ -256,11 +475,28 @@ public class GameWorld {
      */
     public void addObserver(GameObserver observer) {
         observers.add(observer);
+        if (observerDispatcher == null) {
+            observerDispatcher = new ObserverDispatcher(this::notifyObservers, FRAME_MILLIS);
+        }
+    }
+
+    /**
+     * Requests that the observers be notified of a change to the game state.
+     * Safe to call from any thread. Requests are coalesced: however many arrive within a display frame,
+     * the observers are notified once, on the event dispatch thread, at the next frame.
+     * Does nothing while the world has no observers.
+     */
+    public void requestNotify() {
+        ObserverDispatcher dispatcher = observerDispatcher;
+        if (dispatcher != null) {
+            dispatcher.request();
+        }
     }
 
     /**
-     * Notifies all observers that the game state has been updated.
-     * This method is called to inform observers about changes in the game world.
+     * Notifies all observers that the game state has been updated, right away and on the calling thread.
+     * Changes made during play go through {@link #requestNotify()} instead, which limits the observer
+     * passes to one per display frame.
      */
     public void notifyObservers() {
         for (GameObserver observer : observers) {
@@ -271,20 +507,23 @@ public class GameWorld {
     /**
      * Sets the list of items in the game world.
      * This method is used to update the items in the game world.
+     * The items are copied into a list that is safe to change from any thread.
      * @param items The list of GameItem objects to set.
      */
     public void setItems(List<GameItem> items) {
-        this.items = items;
+        this.items = new CopyOnWriteArrayList<>(items);
     }
 
     /**
      * Gets a lock for a specific position in the game world.
      * This method ensures that only one thread can access the specified position at a time.
+     * Locks belong to this world's map and are striped over a fixed table, so independent worlds never contend on them,
+     * and they are the same locks {@link GameMap#tryMove} takes.
      * @param pos The position for which to get the lock.
      * @return A ReentrantLock object for the specified position.
      */
-    public static ReentrantLock getMapLock(Position pos) {
-        return lockMap.computeIfAbsent(pos, p -> new ReentrantLock());
+    public ReentrantLock getMapLock(Position pos) {
+        return map.getCellLock(pos);
     }
 
     /**
@@ -309,38 +548,50 @@ public class GameWorld {
         PlayerCharacter player = memento.getPlayer();
         this.players.add(player);
         this.map.addToGrid(player.getPosition(), player);
-        this.enemies = memento.getEnemies();
-        this.items = memento.getItems();
+        this.enemies = new CopyOnWriteArrayList<>(memento.getEnemies());
+        this.items = new CopyOnWriteArrayList<>(memento.getItems());
+        cancelAllDecorations(); // The enemies they would decorate are gone
+        ScheduledEffect oldRegeneration = regeneration;
+        if (oldRegeneration != null) {
+            // The saved player is the same character with the same decorators, so it regenerates too
+            oldRegeneration.cancel();
+            regeneration = effectTimer.scheduleAtFixedRate(player::update, 0, REGENERATION_PERIOD_MILLIS);
+        }
+        updateVisibleCells();
+        activityTiers.wakeAll();
         this.controller.refresh();
     }
 
     /**
-     * Creates a potion at the specified position and adds it to the game world and map.
-     * @param pos The position where the potion should be created.
+     * Creates a potion at the specified position and adds it to the map.
+     * @param pos      The position where the potion should be created.
+     * @param newItems Receives the potion, to be added to the world's items.
      */
-    private void createPotion(Position pos) {
+    private void createPotion(Position pos, List<GameItem> newItems) {
         Potion potion = new Potion(pos, false, 50, 10);
-        items.add(potion);
+        newItems.add(potion);
         map.addToGrid(pos, potion);
     }
 
     /**
-     * Creates a power potion at the specified position and adds it to the game world and map.
-     * @param pos The position where the power potion should be created.
+     * Creates a power potion at the specified position and adds it to the map.
+     * @param pos      The position where the power potion should be created.
+     * @param newItems Receives the power potion, to be added to the world's items.
      */
-    private void createPowerPotion(Position pos) {
+    private void createPowerPotion(Position pos, List<GameItem> newItems) {
         PowerPotion powerPotion = new PowerPotion(pos, false, 5, 1);
-        items.add(powerPotion);
+        newItems.add(powerPotion);
         map.addToGrid(pos, powerPotion);
     }
 
     /**
-     * Creates a wall at the specified position and adds it to the game world and map.
-     * @param pos The position where the wall should be created.
+     * Creates a wall at the specified position and adds it to the map.
+     * @param pos      The position where the wall should be created.
+     * @param newItems Receives the wall, to be added to the world's items.
      */
-    private void createWall(Position pos) {
+    private void createWall(Position pos, List<GameItem> newItems) {
         Wall wall = new Wall(pos, true);
-        items.add(wall);
+        newItems.add(wall);
         map.addToGrid(pos, wall);
     }
 
@@ -358,6 +609,7 @@ public class GameWorld {
         player = applyDecorators(player, decorators);
         map.addToGrid(pos, player);
         players.add(player);
+        updateVisibleCells();
         LogManager.addLog("Game started with player type: " + player.getDisplaySymbol() + " and name: " + playerName);
     }
 
@@ -387,60 +639,261 @@ public class GameWorld {
         }
         if (regenRef != null) {
             final PlayerCharacter finalPlayer = res;
-            new Timer(true).scheduleAtFixedRate(new TimerTask() {
-                public void run() {
-                    finalPlayer.update();
-                }
-            }, 0, 1000);
-
+            regeneration = effectTimer.scheduleAtFixedRate(finalPlayer::update, 0, REGENERATION_PERIOD_MILLIS);
         }
         return res;
     }
 
+    /**
+     * Starts the task that controls a single enemy, or hands the enemy to the sweep engine in
+     * {@link ExecutionMode#SWEEP} mode. The enemy acts from the next tick on.
+     * @param enemy The enemy to control.
+     */
+    private void startEnemyTask(Enemy enemy) {
+        if (sweepEngine != null) {
+            sweepEngine.add(enemy);
+            return;
+        }
+        EnemyTask enemy_Task = new EnemyTask(enemy, this);
+        enemyTasks.add(enemy_Task);
+    }
+
     /**
      * Populates the game map with enemies, walls, and items.
-     * Randomly places entities based on predefined probabilities.
+     * A chunked map is populated lazily, one chunk at a time, by its chunk listener.
      */
     private void populateGameMap() {
+        if (map.isChunked()) return;
+        populateCells(0, 0, map.getSize(), map.getSize());
+    }
+
+    /**
+     * Randomly places enemies, walls, and items in a rectangle of the map.
+     * Empty cells get an entity based on predefined probabilities.
+     * The new enemies and items join the world's lists in one change each, since the lists copy themselves on every change.
+     * @param firstRow The first row of the rectangle.
+     * @param firstCol The first column of the rectangle.
+     * @param rows     The number of rows of the rectangle.
+     * @param cols     The number of columns of the rectangle.
+     * @return The enemies created.
+     */
+    private List<Enemy> populateCells(int firstRow, int firstCol, int rows, int cols) {
+        List<Enemy> newEnemies = new ArrayList<>();
+        List<GameItem> newItems = new ArrayList<>();
         // Randomly place enemies, walls, and items on the map
-        for (int i = 0; i < map.getSize(); i++) {
-            for (int j = 0; j < map.getSize(); j++) {
-                Position pos = new Position(i, j);
+        for (int i = firstRow; i < firstRow + rows; i++) {
+            for (int j = firstCol; j < firstCol + cols; j++) {
+                Position pos = Position.of(i, j);
                 if (!map.isEmpty(pos)) continue;
 
-                double random = Math.random();
+                double random = GameRandom.current().nextDouble();
                 if (random <= 0.4) continue; // Leave cell empty
-                else if (random <= 0.7) createEnemy(pos);
-                else if (random < 0.8) createWall(pos);
-                else if (random < 0.95) createPotion(pos);
-                else createPowerPotion(pos);
+                else if (random <= 0.7) createEnemy(pos, newEnemies);
+                else if (random < 0.8) createWall(pos, newItems);
+                else if (random < 0.95) createPotion(pos, newItems);
+                else createPowerPotion(pos, newItems);
             }
         }
+        enemies.addAll(newEnemies);
+        items.addAll(newItems);
+        return newEnemies;
     }
 
     /**
-     * Randomly decorates an enemy with a decorator after a delay.
+     * Creates the listener that keeps the world's entity lists in sync with a chunked map.
+     * New chunks are populated like a dense map; chunks moving to or from disk take their
+     * enemies and items out of, or back into, the world.
+     * @return the chunk listener
+     */
+    private ChunkListener createChunkListener() {
+        return new ChunkListener() {
+            @Override
+            public void onChunkGenerated(GameMap map, int firstRow, int firstCol, int rows, int cols) {
+                List<Enemy> newEnemies;
+                RandomGenerator previous = GameRandom.bind(splitRandom());
+                try {
+                    newEnemies = populateCells(firstRow, firstCol, rows, cols);
+                } finally {
+                    GameRandom.bind(previous);
+                }
+                if (enemyTasksStarted) {
+                    for (Enemy enemy : newEnemies) {
+                        startEnemyTask(enemy);
+                    }
+                }
+            }
+
+            @Override
+            public void onChunkLoaded(GameMap map, List<GameEntity> entities) {
+                List<Enemy> loadedEnemies = new ArrayList<>();
+                List<GameItem> loadedItems = new ArrayList<>();
+                for (GameEntity entity : entities) {
+                    if (entity instanceof Enemy enemy) {
+                        rebindDecorators(enemy);
+                        loadedEnemies.add(enemy);
+                    } else if (entity instanceof GameItem item) {
+                        loadedItems.add(item);
+                    }
+                }
+                enemies.addAll(loadedEnemies);
+                items.addAll(loadedItems);
+                if (enemyTasksStarted) {
+                    for (Enemy enemy : loadedEnemies) {
+                        startEnemyTask(enemy);
+                    }
+                }
+            }
+
+            @Override
+            public void onChunkEvicted(GameMap map, List<GameEntity> entities) {
+                Set<GameEntity> evicted = Collections.newSetFromMap(new IdentityHashMap<>());
+                evicted.addAll(entities);
+                enemies.removeIf(evicted::contains);
+                items.removeIf(evicted::contains);
+                enemyTasks.removeIf(task -> evicted.contains(task.getEnemy()));
+                activityTiers.forget(task -> evicted.contains(task.getEnemy()));
+                if (sweepEngine != null) {
+                    sweepEngine.remove(evicted::contains);
+                }
+                for (GameEntity entity : entities) {
+                    if (entity instanceof Enemy enemy) {
+                        cancelDecoration(enemy);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Binds the world objects an enemy's decorators do not save with the enemy:
+     * the player an exploding enemy hurts and the map a teleporting enemy moves on.
+     * Called when the enemy is read back from disk.
+     * @param enemy The enemy, possibly wrapped in several decorators.
+     */
+    private void rebindDecorators(Enemy enemy) {
+        Enemy current = enemy;
+        while (current instanceof EnemyDecorator decorator) {
+            if (decorator instanceof ExplodingEnemyDecorator exploding) {
+                exploding.setPlayer(getPlayer());
+            } else if (decorator instanceof TeleportingEnemyDecorator teleporting) {
+                teleporting.setMap(map);
+            }
+            current = decorator.getDecoratorEnemy();
+        }
+    }
+
+    /**
+     * Randomly decorates an enemy with a decorator after a delay, using the world's effect timer.
      * The decorator can be either a VampireEnemyDecorator or a TeleportingEnemyDecorator.
+     * The decorated enemy takes the enemy's place on the map, in the enemy list and in its task.
+     * The decoration is cancelled if the enemy leaves the world first.
      * @param enemy The enemy to decorate.
      */
     private void decorateEnemyRandomly(Enemy enemy) {
-        int delayMillis = 1000 * (1 + new Random().nextInt(10));
-
-        new Timer(true).schedule(new TimerTask() {
-            @Override
-            public void run() {
-                Enemy decorated = createRandomEnemyDecorator(enemy);
-                int index = enemies.indexOf(enemy);
-                if (index != -1) {
-                    enemies.set(index, decorated);
-                    Position pos = enemy.getPosition();
-                    GameMap map = GameMap.getInstance();
-                    map.removeFromGrid(pos, enemy);
-                    map.addToGrid(pos, decorated);
-                    LogManager.addLog("Enemy got a random decorator: " + decorated.getClass().getSimpleName());
+        int delayMillis = 1000 * (1 + GameRandom.current().nextInt(10));
+
+        pendingDecorations.put(enemy, effectTimer.schedule(() -> {
+            pendingDecorations.remove(enemy);
+            Enemy decorated;
+            RandomGenerator previous = GameRandom.bind(effectRandom);
+            try {
+                decorated = createRandomEnemyDecorator(enemy);
+            } finally {
+                GameRandom.bind(previous);
+            }
+            Position pos = enemy.getPosition();
+            ReentrantLock lock = getMapLock(pos);
+            lock.lock();
+            try {
+                // The enemy cannot move while its cell is locked, so it is either still here or gone
+                if (!pos.equals(enemy.getPosition()) || !map.removeFromGrid(pos, enemy)) {
+                    return;
+                }
+                map.addToGrid(pos, decorated);
+                enemies.replaceAll(e -> e == enemy ? decorated : e);
+                for (EnemyTask task : enemyTasks) {
+                    if (task.getEnemy() == enemy) {
+                        task.setEnemy(decorated);
+                    }
                 }
+                if (sweepEngine != null) {
+                    sweepEngine.replace(enemy, decorated);
+                }
+            } finally {
+                lock.unlock();
+            }
+            LogManager.addLog("Enemy got a random decorator: " + decorated.getClass().getSimpleName());
+        }, delayMillis));
+    }
+
+    /**
+     * Cancels the pending random decoration of an enemy that left the world.
+     * @param enemy The enemy that left.
+     */
+    private void cancelDecoration(Enemy enemy) {
+        ScheduledEffect decoration = pendingDecorations.remove(enemy);
+        if (decoration != null) {
+            decoration.cancel();
+        }
+    }
+
+    /**
+     * Cancels the pending random decorations of every enemy.
+     */
+    private void cancelAllDecorations() {
+        synchronized (pendingDecorations) {
+            for (ScheduledEffect decoration : pendingDecorations.values()) {
+                decoration.cancel();
+            }
+            pendingDecorations.clear();
+        }
+    }
+
+    /**
+     * Cancels every effect the world scheduled: decorations, respawns and regeneration.
+     */
+    private void cancelEffects() {
+        cancelAllDecorations();
+        for (ScheduledEffect respawn : pendingRespawns) {
+            respawn.cancel();
+        }
+        pendingRespawns.clear();
+        ScheduledEffect currentRegeneration = regeneration;
+        if (currentRegeneration != null) {
+            currentRegeneration.cancel();
+        }
+    }
+
+    /**
+     * Places a new enemy on a random empty cell, unless the game is over or the world already
+     * holds RESPAWN_ENEMY_LIMIT enemies. Runs on the effect timer, some time after an enemy died.
+     */
+    private void respawnEnemy() {
+        if (!isGameRunning.get() || enemies.size() >= RESPAWN_ENEMY_LIMIT) {
+            return;
+        }
+        RandomGenerator previous = GameRandom.bind(effectRandom);
+        try {
+            Position newPos = map.getRandomEmptyPosition();
+            if (newPos == null) {
+                LogManager.addLog("No empty position left to respawn an enemy");
+                return;
             }
-        }, delayMillis);
+            ReentrantLock lock = getMapLock(newPos);
+            lock.lock();
+            try {
+                if (!map.isEmpty(newPos)) return; // Another mover claimed the cell first
+
+                Enemy newEnemy = enemyFactory.createEnemy(newPos);
+                enemies.add(newEnemy);
+                map.addToGrid(newPos, newEnemy);
+                startEnemyTask(newEnemy);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            GameRandom.bind(previous);
+        }
     }
 
     /**
@@ -450,38 +903,99 @@ public class GameWorld {
      * @return A decorated enemy instance.
      */
     private Enemy createRandomEnemyDecorator(Enemy enemy) {
-        int pick = new Random().nextInt(3);
+        int pick = GameRandom.current().nextInt(3);
         return switch (pick) {
             case 0 -> new VampireEnemyDecorator(enemy);
-            case 1 -> new TeleportingEnemyDecorator(enemy);
+            case 1 -> new TeleportingEnemyDecorator(enemy, map);
             case 2 -> new ExplodingEnemyDecorator(enemy,getPlayer()); // Default case, no special decorator
             default -> enemy;
         };
     }
 
+    /**
+     * Recomputes the cells visible to the player from the player's position and the visibility radius.
+     */
+    private void updateVisibleCells() {
+        VisibleCells previous = visibleCells;
+        VisibleCells current = new VisibleCells(map, getPlayer().getPosition(), visibilityRadius);
+        visibleCells = current;
+        if (previous != null) {
+            markVisibilityChange(previous, current);
+        }
+    }
+
+    /**
+     * Marks the cells that came into view or went out of view as changed on the map,
+     * so a renderer redraws them along with the cells whose contents changed.
+     * @param previous The cells visible before.
+     * @param current  The cells visible now.
+     */
+    private void markVisibilityChange(VisibleCells previous, VisibleCells current) {
+        for (int i = 0; i < previous.size(); i++) {
+            int row = previous.getRow(i), col = previous.getCol(i);
+            if (!current.contains(row, col)) {
+                map.markDirty(row, col);
+            }
+        }
+        for (int i = 0; i < current.size(); i++) {
+            int row = current.getRow(i), col = current.getCol(i);
+            if (!previous.contains(row, col)) {
+                map.markDirty(row, col);
+            }
+        }
+    }
+
     /**
      * Creates a new enemy at the specified position and decorates it randomly.
-     * Adds the enemy to the game world and the map.
-     * @param pos The position where the enemy should be created.
+     * Adds the enemy to the map.
+     * @param pos        The position where the enemy should be created.
+     * @param newEnemies Receives the enemy, to be added to the world's enemies.
      */
-    private void createEnemy(Position pos) {
+    private void createEnemy(Position pos, List<Enemy> newEnemies) {
         Enemy enemy = enemyFactory.createEnemy(pos);
-        enemies.add(enemy);
+        newEnemies.add(enemy);
         map.addToGrid(pos, enemy);
         decorateEnemyRandomly(enemy);
     }
 
     // --- Fields ---
-    private static final ConcurrentHashMap<Position, ReentrantLock> lockMap = new java.util.concurrent.ConcurrentHashMap<>();
+    public static final int VICTORY_TREASURE_POINTS = 500;
+    private static final int DEFAULT_VISIBILITY_RADIUS = 2;
+    private static final long DEFAULT_TICK_MILLIS = 300;
+    private static final int NEAR_ACTIVITY_RADIUS = 4;
+    private static final int MID_ACTIVITY_RADIUS = 12;
+    private static final int MID_ACTIVITY_INTERVAL = 4;
+    private static final long EFFECT_TICK_MILLIS = 50;
+    private static final int EFFECT_WHEEL_SIZE = 512;
+    private static final int FRAME_MILLIS = 16;
+    private static final long REGENERATION_PERIOD_MILLIS = 1000;
+    private static final long RESPAWN_DELAY_MILLIS = 1000;
+    private static final int RESPAWN_ENEMY_LIMIT = 10;
     private GameMap map;
     private List<PlayerCharacter> players;
     private List<Enemy> enemies;
     private List<GameItem> items;
+    private final ExecutionMode executionMode;
     private ExecutorService enemyExecutor;
+    private final TickScheduler tickScheduler;
+    private final EffectTimer effectTimer;
+    private final ActivityTiers activityTiers;
+    private final SweepEngine sweepEngine;
+    private final Map<Enemy, ScheduledEffect> pendingDecorations = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Queue<ScheduledEffect> pendingRespawns = new ConcurrentLinkedQueue<>();
+    private volatile ScheduledEffect regeneration;
+    private final long seed;
+    private final SplittableRandom seedSource;
+    private final SplittableRandom playerRandom;
+    private final SplittableRandom effectRandom;
     private List<EnemyTask> enemyTasks;
-    private List<GameObserver> observers = new ArrayList<>();
+    private final List<GameObserver> observers = new CopyOnWriteArrayList<>();
+    private volatile ObserverDispatcher observerDispatcher;
     private GameController controller;
     private final AtomicBoolean isGameRunning = new AtomicBoolean(true);
+    private boolean enemyTasksStarted = false;
+    private int visibilityRadius = DEFAULT_VISIBILITY_RADIUS;
+    private volatile VisibleCells visibleCells;
     private final PlayerFactory playerFactory = new PlayerFactory();
     private final EnemyFactory enemyFactory = new EnemyFactory();
 
@@ -0,0 +1,71 @@
+package game.engine;
+
+import javax.swing.Timer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces requests to notify the observers of a world into at most one observer pass per display frame.
+ * Any thread may request a pass; the request only raises a dirty flag. A Swing timer running at the frame
+ * rate clears the flag on the event dispatch thread and runs one pass for all the requests made since the
+ * previous frame. The timer stops after a frame without requests and starts again on the next one.
+ */
+final class ObserverDispatcher {
+
+    /**
+     * Constructs a stopped dispatcher.
+     * @param pass        The observer pass to run, on the event dispatch thread.
+     * @param frameMillis The length of a display frame in milliseconds.
+     * @throws IllegalArgumentException if the frame length is not positive.
+     */
+    ObserverDispatcher(Runnable pass, int frameMillis) {
+        if (frameMillis <= 0) {
+            throw new IllegalArgumentException("Frame length must be positive: " + frameMillis);
+        }
+        this.pass = pass;
+        this.timer = new Timer(frameMillis, e -> onFrame());
+        // The timer only starts after an idle frame, so the first pass may run at once.
+        this.timer.setInitialDelay(0);
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Requests an observer pass at the next frame. Safe to call from any thread.
+     */
+    void request() {
+        if (stopped) {
+            return;
+        }
+        dirty.set(true);
+        timer.start(); // No-op while the timer is running
+    }
+
+    /**
+     * Stops the dispatcher; requests made afterwards are ignored.
+     */
+    void stop() {
+        stopped = true;
+        timer.stop();
+    }
+
+    /**
+     * Runs on the event dispatch thread at every frame: runs one pass if any was requested, or
+     * stops the timer after an idle frame.
+     */
+    private void onFrame() {
+        if (dirty.getAndSet(false)) {
+            pass.run();
+            return;
+        }
+        timer.stop();
+        // A request may have slipped in between the check and the stop and found the timer running.
+        if (dirty.get() && !stopped) {
+            timer.start();
+        }
+    }
+
+    // --- Fields ---
+    private final Runnable pass;
+    private final Timer timer;
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private volatile boolean stopped = false;
+}
@@ -0,0 +1,200 @@
+package game.engine;
+
+import game.characters.PlayerCharacter;
+import game.map.Position;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs one tick of enemy behavior with the map split into square regions.
+ * The enemies of each region are run one after another by a single ForkJoin task, and the
+ * regions run in parallel, so enemies of different regions never compete for the same cells.
+ * A move that would leave its region is not made right away; it is queued and made in a
+ * short serial phase after every region finished, together with the removal of dead enemies.
+ * Attacks on the player are queued for the serial phase as well, because the player is shared
+ * by every region and its health must only be changed by one thread at a time.
+ */
+public class RegionTicker {
+
+    /**
+     * Constructs a region ticker for the given world.
+     * @param gameWorld  The world whose map is split into regions.
+     * @param pool       The pool that runs the regions.
+     * @param regionSize The number of rows and columns of a region.
+     */
+    public RegionTicker(GameWorld gameWorld, ForkJoinPool pool, int regionSize) {
+        if (regionSize <= 0) {
+            throw new IllegalArgumentException("Region size must be positive: " + regionSize);
+        }
+        this.pool = pool;
+        this.regionSize = regionSize;
+        this.regionsPerSide = (gameWorld.getMap().getSize() + regionSize - 1) / regionSize;
+    }
+
+    /**
+     * Runs every given task once: living enemies in parallel by region,
+     * then queued cross-region moves, queued attacks and dead enemies serially.
+     * @param tasks The enemy tasks to run.
+     */
+    public void tick(Collection<EnemyTask> tasks) {
+        Map<Integer, List<EnemyTask>> regions = new HashMap<>();
+        List<EnemyTask> dead = new ArrayList<>();
+        for (EnemyTask task : tasks) {
+            if (task.isEnemyDead()) {
+                dead.add(task);
+            } else {
+                regions.computeIfAbsent(regionOf(task.getEnemy().getPosition()), r -> new ArrayList<>()).add(task);
+            }
+        }
+
+        List<List<EnemyTask>> batches = new ArrayList<>(regions.values());
+        pool.invoke(new RegionBatch(batches, 0, batches.size()));
+
+        // Serial reconciliation: no region task is running any more
+        PendingMove move;
+        while ((move = pendingMoves.poll()) != null) {
+            move.task.moveTo(move.destination);
+        }
+        PendingAttack attack;
+        while ((attack = pendingAttacks.poll()) != null) {
+            attack.task.attackDeferred(attack.target);
+        }
+        for (EnemyTask task : dead) {
+            task.run();
+        }
+    }
+
+    /**
+     * Checks whether two positions fall in the same region.
+     * @param from The first position.
+     * @param to   The second position.
+     * @return true if both positions are in one region, false otherwise.
+     */
+    public boolean isSameRegion(Position from, Position to) {
+        return regionOf(from) == regionOf(to);
+    }
+
+    /**
+     * Queues a move that leaves the mover's region, to be made after every region finished.
+     * Safe to call from the region tasks.
+     * @param task        The task of the moving enemy.
+     * @param destination The destination of the move.
+     */
+    public void defer(EnemyTask task, Position destination) {
+        pendingMoves.add(new PendingMove(task, destination));
+    }
+
+    /**
+     * Queues an attack on the player, to be made after every region finished.
+     * Safe to call from the region tasks.
+     * @param task   The task of the attacking enemy.
+     * @param target The player to attack.
+     */
+    public void deferAttack(EnemyTask task, PlayerCharacter target) {
+        pendingAttacks.add(new PendingAttack(task, target));
+    }
+
+    /**
+     * Returns the region id of a position.
+     * @param pos The position.
+     * @return The id of the region covering the position.
+     */
+    private int regionOf(Position pos) {
+        return (pos.getRow() / regionSize) * regionsPerSide + pos.getCol() / regionSize;
+    }
+
+    /**
+     * ForkJoin task that runs a range of regions, splitting it until one region is left.
+     */
+    private class RegionBatch extends RecursiveAction {
+
+        /**
+         * Constructs a task for the regions between from (inclusive) and to (exclusive).
+         * @param regions The enemy tasks of every region.
+         * @param from    The first region to run.
+         * @param to      The region after the last one to run.
+         */
+        RegionBatch(List<List<EnemyTask>> regions, int from, int to) {
+            this.regions = regions;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Runs the regions of this task, forking halves while more than one region is left.
+         */
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RegionBatch(regions, from, middle), new RegionBatch(regions, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                for (EnemyTask task : regions.get(i)) {
+                    try {
+                        task.runInRegion(RegionTicker.this);
+                    } catch (RuntimeException e) {
+                        System.err.println("Enemy task failed: " + e);
+                    }
+                }
+            }
+        }
+
+        // --- Fields ---
+        private static final long serialVersionUID = 1L;
+        private final transient List<List<EnemyTask>> regions;
+        private final int from;
+        private final int to;
+    }
+
+    /**
+     * A move that leaves its region, waiting for the serial phase.
+     */
+    private static final class PendingMove {
+
+        /**
+         * Constructs a pending move.
+         * @param task        The task of the moving enemy.
+         * @param destination The destination of the move.
+         */
+        PendingMove(EnemyTask task, Position destination) {
+            this.task = task;
+            this.destination = destination;
+        }
+
+        // --- Fields ---
+        private final EnemyTask task;
+        private final Position destination;
+    }
+
+    /**
+     * An attack on the player, waiting for the serial phase.
+     */
+    private static final class PendingAttack {
+
+        /**
+         * Constructs a pending attack.
+         * @param task   The task of the attacking enemy.
+         * @param target The player to attack.
+         */
+        PendingAttack(EnemyTask task, PlayerCharacter target) {
+            this.task = task;
+            this.target = target;
+        }
+
+        // --- Fields ---
+        private final EnemyTask task;
+        private final PlayerCharacter target;
+    }
+
+    // --- Fields ---
+    private final ForkJoinPool pool;
+    private final int regionSize;
+    private final int regionsPerSide;
+    private final Queue<PendingMove> pendingMoves = new ConcurrentLinkedQueue<>();
+    private final Queue<PendingAttack> pendingAttacks = new ConcurrentLinkedQueue<>();
+}
@@ -0,0 +1,50 @@
+package game.engine;
+
+/**
+ * Handle of a delayed or periodic action scheduled on an {@link EffectTimer}.
+ * The handle can cancel the action at any time; an action that is running when it is
+ * cancelled finishes, but never runs again.
+ */
+public final class ScheduledEffect {
+
+    /**
+     * Constructs a handle for an action.
+     * @param action       The action to run.
+     * @param deadlineTick The wheel tick at which the action first runs.
+     * @param periodTicks  The number of wheel ticks between runs, or 0 for a one-shot action.
+     */
+    ScheduledEffect(Runnable action, long deadlineTick, long periodTicks) {
+        this.action = action;
+        this.deadlineTick = deadlineTick;
+        this.periodTicks = periodTicks;
+    }
+
+    /**
+     * Cancels the action. Cancelling an action that already ran or was cancelled has no effect.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether the action was cancelled.
+     * @return true if cancelled, false otherwise.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks whether the action repeats until cancelled.
+     * @return true if the action is periodic, false if it runs once.
+     */
+    public boolean isPeriodic() {
+        return periodTicks > 0;
+    }
+
+    // --- Fields ---
+    final Runnable action;
+    final long periodTicks;
+    long deadlineTick;
+    private volatile boolean cancelled = false;
+}
@@ -0,0 +1,284 @@
+package game.engine;
+
+import game.audio.SoundPlayer;
+import game.characters.Enemy;
+import game.characters.PlayerCharacter;
+import game.core.GameRandom;
+import game.map.GameMap;
+import game.map.Position;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs the enemies of a world in {@link ExecutionMode#SWEEP} mode: one sweep per tick, on the thread
+ * that steps the world, instead of one {@link EnemyTask} per enemy.
+ * The state every tick looks at (cell, health and stagger phase of each enemy) lives in primitive
+ * arrays, so the many enemies that are asleep or waiting for their turn cost a few array reads and
+ * no object is touched for them. Only the enemies that act go through their objects and the map.
+ * The sweep plays exactly the rules of EnemyTask and {@link ActivityTiers}, in the same order and
+ * with the same random draws, so a seeded world plays out the same in both modes.
+ * Unlike the tasks, the sweep does not log every step. Enemies far from the player are not put in a
+ * spatial index: the sweep checks their distance every tick, which is cheaper than the index here.
+ * Changes the world makes to an enemy between ticks must be passed on with {@link #update(Enemy)}.
+ * The engine is not thread-safe; it is driven by the thread that steps the world.
+ */
+final class SweepEngine {
+
+    /**
+     * Constructs an empty sweep engine for a world.
+     * @param gameWorld   The world whose enemies are swept.
+     * @param nearRadius  The distance from the player up to which enemies act every tick.
+     * @param midRadius   The distance from the player up to which enemies act at all.
+     * @param midInterval The number of ticks between two steps of a mid-range enemy.
+     * @throws IllegalArgumentException if the radii are not increasing or the interval is not positive.
+     */
+    SweepEngine(GameWorld gameWorld, int nearRadius, int midRadius, int midInterval) {
+        if (nearRadius < 0 || midRadius < nearRadius) {
+            throw new IllegalArgumentException("Invalid radii: near " + nearRadius + ", mid " + midRadius);
+        }
+        if (midInterval <= 0) {
+            throw new IllegalArgumentException("Mid-range interval must be positive: " + midInterval);
+        }
+        this.gameWorld = gameWorld;
+        this.nearRadius = nearRadius;
+        this.midRadius = midRadius;
+        this.midInterval = midInterval;
+    }
+
+    /**
+     * Adds an enemy, which acts from the next tick on.
+     * Its random generator and phase are drawn from the world just like an EnemyTask's.
+     * @param enemy The enemy to add.
+     */
+    void add(Enemy enemy) {
+        if (count == enemies.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, count * 2);
+            enemies = Arrays.copyOf(enemies, capacity);
+            randoms = Arrays.copyOf(randoms, capacity);
+            rows = Arrays.copyOf(rows, capacity);
+            cols = Arrays.copyOf(cols, capacity);
+            health = Arrays.copyOf(health, capacity);
+            phases = Arrays.copyOf(phases, capacity);
+        }
+        int i = count++;
+        SplittableRandom random = gameWorld.splitRandom();
+        enemies[i] = enemy;
+        randoms[i] = random;
+        phases[i] = random.nextInt(Integer.MAX_VALUE);
+        indexOf.put(enemy, i);
+        read(i);
+    }
+
+    /**
+     * Reads an enemy's position and health again after the world changed them between ticks,
+     * for instance in a fight with the player.
+     * @param enemy The enemy that changed. Enemies the engine does not hold are ignored.
+     */
+    void update(Enemy enemy) {
+        Integer i = indexOf.get(enemy);
+        if (i != null) {
+            read(i);
+        }
+    }
+
+    /**
+     * Puts a new enemy in the place of another one, such as the enemy wrapped in a decorator.
+     * The new enemy keeps the old one's random generator, phase and place in the order.
+     * @param enemy       The enemy to replace.
+     * @param replacement The enemy that takes its place.
+     */
+    void replace(Enemy enemy, Enemy replacement) {
+        Integer i = indexOf.remove(enemy);
+        if (i != null) {
+            enemies[i] = replacement;
+            indexOf.put(replacement, i);
+            read(i);
+        }
+    }
+
+    /**
+     * Drops the enemies that left the world, such as the enemies of an evicted chunk.
+     * @param filter Selects the enemies to drop.
+     */
+    void remove(Predicate<Enemy> filter) {
+        for (int i = 0; i < count; i++) {
+            if (enemies[i] != null && filter.test(enemies[i])) {
+                removeAt(i);
+            }
+        }
+        compactIfSparse();
+    }
+
+    /**
+     * Runs one tick: every enemy that is due in its activity tier takes one step, in the order the
+     * enemies were added. A dead enemy is handed to the world for a later respawn.
+     * @param tick The number of the tick, used to stagger mid-range enemies.
+     */
+    void tick(long tick) {
+        PlayerCharacter player = gameWorld.getPlayer();
+        Position playerPos = player.getPosition();
+        int playerRow = playerPos.getRow();
+        int playerCol = playerPos.getCol();
+        int end = count; // Enemies that respawn during the tick act from the next one on
+        for (int i = 0; i < end; i++) {
+            Enemy enemy = enemies[i];
+            if (enemy == null) continue;
+
+            if (health[i] <= 0 && enemy.isDead()) {
+                removeAt(i);
+                gameWorld.respawnLater(enemy);
+                continue;
+            }
+            int distance = Math.abs(rows[i] - playerRow) + Math.abs(cols[i] - playerCol);
+            if (distance > nearRadius && (distance > midRadius || (tick + phases[i]) % midInterval != 0)) {
+                continue;
+            }
+            if (distance <= EnemyTask.CHASE_RADIUS) {
+                chase(i, playerRow, playerCol);
+                attack(i, player);
+            } else if (randoms[i].nextDouble() <= EnemyTask.WANDER_CHANCE) {
+                int[] dir = EnemyTask.DIRECTIONS[randoms[i].nextInt(EnemyTask.DIRECTIONS.length)];
+                moveTo(i, rows[i] + dir[0], cols[i] + dir[1]);
+            }
+        }
+        compactIfSparse();
+    }
+
+    /**
+     * Gets the number of enemies the engine runs.
+     * @return The number of enemies.
+     */
+    int size() {
+        return indexOf.size();
+    }
+
+    /**
+     * Moves an enemy one cell toward the player, along the rows first.
+     * @param i         The index of the enemy.
+     * @param playerRow The row of the player.
+     * @param playerCol The column of the player.
+     */
+    private void chase(int i, int playerRow, int playerCol) {
+        if (rows[i] != playerRow) {
+            moveTo(i, rows[i] + Integer.compare(playerRow, rows[i]), cols[i]);
+        } else if (cols[i] != playerCol) {
+            moveTo(i, rows[i], cols[i] + Integer.compare(playerCol, cols[i]));
+        }
+    }
+
+    /**
+     * Lets an enemy attack the player if it is in range, drawing combat randomness from the enemy's generator.
+     * @param i      The index of the enemy.
+     * @param player The player.
+     */
+    private void attack(int i, PlayerCharacter player) {
+        Enemy enemy = enemies[i];
+        if (!enemy.isInRange(enemy.getPosition(), player.getPosition())) {
+            return;
+        }
+        RandomGenerator previous = GameRandom.bind(randoms[i]);
+        try {
+            enemy.attack(player);
+        } finally {
+            GameRandom.bind(previous);
+        }
+        health[i] = enemy.getHealth(); // A vampire heals itself
+        GameMap map = gameWorld.getMap();
+        map.markDirty(player.getPosition());
+        map.markDirty(enemy.getPosition());
+        gameWorld.requestNotify();
+        if (gameWorld.getController() != null) {
+            SoundPlayer.playSound("classic_attack.wav");
+        }
+    }
+
+    /**
+     * Moves an enemy to a cell if the cell is inside the map and empty.
+     * @param i   The index of the enemy.
+     * @param row The row of the destination.
+     * @param col The column of the destination.
+     */
+    private void moveTo(int i, int row, int col) {
+        GameMap map = gameWorld.getMap();
+        Position to = Position.of(row, col);
+        if (!map.isWithinBounds(to)) {
+            return;
+        }
+        Enemy enemy = enemies[i];
+        if (map.tryMove(enemy, enemy.getPosition(), to)) {
+            rows[i] = row;
+            cols[i] = col;
+            gameWorld.requestNotify();
+        }
+    }
+
+    /**
+     * Copies an enemy's position and health into the arrays.
+     * @param i The index of the enemy.
+     */
+    private void read(int i) {
+        Position pos = enemies[i].getPosition();
+        rows[i] = pos.getRow();
+        cols[i] = pos.getCol();
+        health[i] = enemies[i].getHealth();
+    }
+
+    /**
+     * Drops the enemy at an index, leaving a gap until the arrays are compacted.
+     * @param i The index of the enemy.
+     */
+    private void removeAt(int i) {
+        indexOf.remove(enemies[i]);
+        enemies[i] = null;
+        randoms[i] = null;
+        removed++;
+    }
+
+    /**
+     * Closes the gaps left by removed enemies once they make up half of the arrays,
+     * keeping the order of the remaining enemies.
+     */
+    private void compactIfSparse() {
+        if (removed < INITIAL_CAPACITY || removed * 2 < count) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if (enemies[i] == null) continue;
+
+            enemies[kept] = enemies[i];
+            randoms[kept] = randoms[i];
+            rows[kept] = rows[i];
+            cols[kept] = cols[i];
+            health[kept] = health[i];
+            phases[kept] = phases[i];
+            indexOf.put(enemies[kept], kept);
+            kept++;
+        }
+        Arrays.fill(enemies, kept, count, null);
+        Arrays.fill(randoms, kept, count, null);
+        count = kept;
+        removed = 0;
+    }
+
+    // --- Fields ---
+    private static final int INITIAL_CAPACITY = 16;
+    private final GameWorld gameWorld;
+    private final int nearRadius;
+    private final int midRadius;
+    private final int midInterval;
+    private final Map<Enemy, Integer> indexOf = new IdentityHashMap<>();
+    private Enemy[] enemies = new Enemy[0];
+    private SplittableRandom[] randoms = new SplittableRandom[0];
+    private int[] rows = new int[0];
+    private int[] cols = new int[0];
+    private int[] health = new int[0];
+    private int[] phases = new int[0];
+    private int count;
+    private int removed;
+}
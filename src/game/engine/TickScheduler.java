@@ -0,0 +1,270 @@
+package game.engine;
+
+import game.log.LogManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Simulation clock of a game world.
+ * Every tick runs the behavior of every live enemy once on the world's enemy executor and
+ * waits for all of them, so enemies act at a steady cadence without a sleeping thread per enemy.
+ * Ticks are scheduled at a fixed rate; a tick that takes longer than the tick period is
+ * counted as an overrun and the next tick starts as soon as it finishes.
+ * The clock can be paused, resumed and sped up while the game runs.
+ * Worlds in {@link ExecutionMode#REGIONS} mode tick through a {@link RegionTicker} instead,
+ * and worlds in {@link ExecutionMode#SWEEP} mode through their {@link SweepEngine}.
+ * A tick can also be run directly with {@link #step()}, without starting the clock.
+ * Which enemies act in a tick is decided by the world's {@link ActivityTiers}.
+ */
+public class TickScheduler {
+
+    /**
+     * Constructs a stopped tick scheduler for the given world.
+     * @param gameWorld  The world whose enemy tasks are ticked.
+     * @param tickMillis The length of a tick at normal speed, in milliseconds.
+     */
+    public TickScheduler(GameWorld gameWorld, long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive: " + tickMillis);
+        }
+        this.gameWorld = gameWorld;
+        this.tickMillis = tickMillis;
+        if (gameWorld.getEnemyExecutor() instanceof ForkJoinPool pool
+                && gameWorld.getExecutionMode() == ExecutionMode.REGIONS) {
+            this.regionTicker = new RegionTicker(gameWorld, pool, REGION_SIZE);
+        } else {
+            this.regionTicker = null;
+        }
+    }
+
+    /**
+     * Starts ticking. Calling it again while the scheduler runs has no effect.
+     */
+    public synchronized void start() {
+        if (clock != null) {
+            return;
+        }
+        clock = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "game-tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+        schedule();
+    }
+
+    /**
+     * Stops ticking for good and releases the clock thread.
+     * The tick in progress, if any, is interrupted.
+     */
+    public synchronized void stop() {
+        if (clock != null) {
+            clock.shutdownNow();
+        }
+    }
+
+    /**
+     * Pauses the simulation. Ticks keep their schedule but do nothing until resumed.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * Resumes a paused simulation.
+     */
+    public void resume() {
+        paused = false;
+    }
+
+    /**
+     * Checks whether the simulation is paused.
+     * @return true if paused, false otherwise.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Sets the length of a tick at normal speed.
+     * @param tickMillis The tick length in milliseconds.
+     * @throws IllegalArgumentException if the length is not positive.
+     */
+    public synchronized void setTickMillis(long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        reschedule();
+    }
+
+    /**
+     * Gets the length of a tick at normal speed.
+     * @return The tick length in milliseconds.
+     */
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Sets the simulation speed. A speed of 2 ticks twice as often as normal.
+     * @param speed The speed multiplier.
+     * @throws IllegalArgumentException if the speed is not positive.
+     */
+    public synchronized void setSpeed(double speed) {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("Speed must be positive: " + speed);
+        }
+        this.speed = speed;
+        reschedule();
+    }
+
+    /**
+     * Gets the simulation speed.
+     * @return The speed multiplier.
+     */
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Gets the number of ticks that ran since the scheduler started, not counting paused ticks.
+     * @return The tick count.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Gets the number of ticks that took longer than the tick period.
+     * @return The overrun count.
+     */
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    /**
+     * Gets how long the last tick took.
+     * @return The duration of the last tick in milliseconds.
+     */
+    public double getLastTickMillis() {
+        return lastTickNanos / 1_000_000.0;
+    }
+
+    /**
+     * Runs one tick right away on the calling thread, whether or not the clock is running:
+     * every enemy task that is due in its activity tier runs once, and a world's effect timer without a thread of its own
+     * advances by one tick length. Worlds in {@link ExecutionMode#SERIAL} mode are driven this way.
+     * Does nothing once the game stopped running.
+     */
+    public void step() {
+        if (!gameWorld.getIsGameRunning().get()) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (!gameWorld.getEffectTimer().isThreaded()) {
+            gameWorld.getEffectTimer().advance(tickMillis);
+        }
+
+        SweepEngine sweepEngine = gameWorld.getSweepEngine();
+        if (sweepEngine != null) {
+            sweepEngine.tick(tickCount);
+            finishTick(start);
+            return;
+        }
+
+        List<EnemyTask> due = gameWorld.getActivityTiers().select(gameWorld.getEnemyTasks(), tickCount);
+        if (regionTicker != null) {
+            try {
+                regionTicker.tick(due);
+            } catch (RejectedExecutionException e) {
+                return; // The world is shutting down
+            }
+            finishTick(start);
+            return;
+        }
+
+        List<Callable<Object>> behaviors = new ArrayList<>();
+        for (EnemyTask task : due) {
+            behaviors.add(Executors.callable(task));
+        }
+        try {
+            for (Future<Object> result : gameWorld.getEnemyExecutor().invokeAll(behaviors)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    System.err.println("Enemy task failed: " + e.getCause());
+                }
+            }
+        } catch (RejectedExecutionException e) {
+            return; // The world is shutting down
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        finishTick(start);
+    }
+
+    /**
+     * Runs a tick of the clock unless the simulation is paused.
+     * A failed tick is logged and skipped; letting the exception escape would cancel every later tick.
+     */
+    private void tick() {
+        if (paused) {
+            return;
+        }
+        try {
+            step();
+        } catch (RuntimeException e) {
+            System.err.println("Tick failed: " + e);
+        }
+    }
+
+    /**
+     * Records the duration of a tick that just finished and counts it as an overrun if it was too long.
+     * @param start The System.nanoTime() value when the tick started.
+     */
+    private void finishTick(long start) {
+        lastTickNanos = System.nanoTime() - start;
+        tickCount++;
+        if (lastTickNanos > periodNanos) {
+            overrunCount++;
+            LogManager.addLog("Tick " + tickCount + " overran: " + getLastTickMillis() + " ms");
+        }
+    }
+
+    /**
+     * Schedules ticks at the current period.
+     */
+    private void schedule() {
+        periodNanos = Math.max(1, (long) (tickMillis * 1_000_000L / speed));
+        ticks = clock.scheduleAtFixedRate(this::tick, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Replaces the running schedule after the period changed.
+     */
+    private void reschedule() {
+        if (clock == null || clock.isShutdown()) {
+            return;
+        }
+        ticks.cancel(false);
+        schedule();
+    }
+
+    // --- Fields ---
+    private static final int REGION_SIZE = 16;
+    private final GameWorld gameWorld;
+    private final RegionTicker regionTicker;
+    private ScheduledExecutorService clock;
+    private ScheduledFuture<?> ticks;
+    private long tickMillis;
+    private double speed = 1.0;
+    private volatile long periodNanos;
+    private volatile boolean paused = false;
+    private volatile long tickCount;
+    private volatile long overrunCount;
+    private volatile long lastTickNanos;
+}
@@ -42,7 +42,12 @@ public class GameFrame extends JFrame {
         setLayout(new BorderLayout());
 
         // Create and add the map panel (center) and status panel (east)
-        mapPanel = new MapPanel(controller);
+        // Large maps are painted on one canvas instead of a grid of buttons
+        if (controller.getMapRows() > BUTTON_GRID_LIMIT) {
+            mapPanel = new MapCanvas(controller);
+        } else {
+            mapPanel = new MapPanel(controller);
+        }
         statusPanel = new StatusPanel(controller.getPlayer(), controller.getGameWorld());
 
         // Register the panels as observers to the controller
@@ -73,15 +78,17 @@ public class GameFrame extends JFrame {
     }
 
     /**
-     * Returns the map panel component.
-     * @return The MapPanel instance used in the GUI
+     * Returns the map view component.
+     * @return The MapPanel or MapCanvas instance used in the GUI
      */
-    public MapPanel getMapPanel() {
+    public MapView getMapPanel() {
         return mapPanel;
     }
 
     // --- Fields ---
-    private MapPanel mapPanel;
+    private static final long serialVersionUID = 1L;
+    private static final int BUTTON_GRID_LIMIT = 20;
+    private MapView mapPanel;
     private StatusPanel statusPanel;
     private GameController controller;
 }
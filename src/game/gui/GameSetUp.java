@@ -51,8 +51,10 @@ public class GameSetUp {
 
             GameWorld world = new GameWorld(size, playerType, name, attributes, element, decorators);
 
+            // Small maps fill the panel; larger maps keep readable tiles and scroll under a camera
             int panelSize = 640;
-            int tileSize = panelSize / world.getMap().getSize();
+            int minTileSize = 32;
+            int tileSize = Math.max(minTileSize, panelSize / world.getMap().getSize());
 
             GameController controller = new GameController(world);
             controller.setTileSize(tileSize);
@@ -192,12 +194,12 @@ public class GameSetUp {
 
     /**
      * Asks the user to choose the size of the game map.
-     * @return the size of the map as an integer (between 10 and 20)
+     * @return the size of the map as an integer (between 10 and 100)
      */
     private static int askMapSize() {
-        JSlider slider = new JSlider(JSlider.HORIZONTAL, 10, 20, 10);
-        slider.setMajorTickSpacing(5);
-        slider.setMinorTickSpacing(1);
+        JSlider slider = new JSlider(JSlider.HORIZONTAL, 10, 100, 10);
+        slider.setMajorTickSpacing(30);
+        slider.setMinorTickSpacing(5);
         slider.setPaintTicks(true);
         slider.setPaintLabels(true);
         slider.setOpaque(false);
@@ -0,0 +1,337 @@
+package game.gui;
+import game.controller.GameController;
+import game.map.Position;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The MapCanvas class displays the game map as a single component.
+ * Instead of one button per cell, it paints the cells that intersect the area to repaint in one
+ * pass, and turns mouse coordinates into the row and column of the cell clicked.
+ * The canvas is a viewport onto the map: a camera keeps the player centered and scrolls smoothly
+ * after the player moves, and only the cells inside the viewport are ever painted, so the cost of
+ * a frame depends on the size of the window, not of the map. The mouse wheel and the + and - keys
+ * zoom in and out by changing the tile size.
+ * Only the cells that changed since the last refresh are repainted, unless the camera is moving.
+ */
+public final class MapCanvas extends MapView {
+
+    /**
+     * Constructs a MapCanvas with the specified game controller.
+     * The canvas starts at the zoom level nearest to the controller's tile size and sets the controller
+     * to that level's tile size, so sprites and health bars are drawn at the size of the cells.
+     * The viewport shows the whole map at that size, up to VIEWPORT_SIZE pixels on each side.
+     * @param controller The game controller that manages the game state and player actions
+     */
+    public MapCanvas(GameController controller) {
+        super(controller);
+        bindArrowKeys();
+        this.rows = controller.getMapRows();
+        this.cols = controller.getMapCols();
+        this.zoomLevel = nearestZoomLevel(controller.getTileSize());
+        this.tileSize = ZOOM_TILE_SIZES[zoomLevel];
+        controller.setTileSize(tileSize);
+        setPreferredSize(new Dimension(Math.min(VIEWPORT_SIZE, cols * tileSize),
+                Math.min(VIEWPORT_SIZE, rows * tileSize)));
+        setBackground(EMPTY_COLOR);
+        scrollTimer = new Timer(SCROLL_FRAME_MILLIS, e -> scrollStep());
+
+        MouseAdapter mouse = new MouseAdapter() {
+            public void mousePressed(MouseEvent e) {
+                int row = (int) Math.floor((e.getY() + cameraY) / tileSize);
+                int col = (int) Math.floor((e.getX() + cameraX) / tileSize);
+                if (row < 0 || row >= rows || col < 0 || col >= cols) {
+                    return;
+                }
+                if (SwingUtilities.isRightMouseButton(e)) {
+                    controller.handleRightClick(row, col, MapCanvas.this, e.getX(), e.getY());
+                } else if (SwingUtilities.isLeftMouseButton(e)) {
+                    controller.handleLeftClick(row, col);
+                }
+            }
+
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(e.getWheelRotation() < 0 ? 1 : -1);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseWheelListener(mouse);
+        addComponentListener(new ComponentAdapter() {
+            public void componentResized(ComponentEvent e) {
+                placed = true;
+                placeCamera();
+            }
+        });
+        setupZoomKeys();
+        controller.trackDirtyCells();
+    }
+
+    /**
+     * Refreshes the map display by repainting the cells that changed since the last refresh,
+     * and the player's cell, since the player's health changes on its own.
+     * If the player moved, the camera starts scrolling toward the player's new position.
+     * If too many cells changed, the whole viewport is repainted instead.
+     * Swing merges the repainted cells into one paint pass.
+     */
+    @Override
+    public void refresh() {
+        GameController controller = getController();
+        followPlayer();
+        if (!controller.drainDirtyCells(this::repaintCell)) {
+            repaint();
+            return;
+        }
+        Position player = controller.getPlayer().getPosition();
+        repaintCell(player.getRow(), player.getCol());
+    }
+
+    /**
+     * Highlights a specific cell in the map with a temporary color change.
+     * This is used to visually indicate actions such as successful moves or attacks.
+     * @param row   The row index of the cell to highlight
+     * @param col   The column index of the cell to highlight
+     * @param color The color to use for highlighting
+     */
+    @Override
+    public void highlightCell(int row, int col, Color color) {
+        int cell = row * cols + col;
+        highlights.put(cell, color);
+        repaintCell(row, col);
+        Timer timer = new Timer(HIGHLIGHT_MILLIS, e -> {
+            if (highlights.get(cell) == color) {
+                highlights.remove(cell);
+            }
+            repaintCell(row, col);
+        });
+        timer.setRepeats(false);
+        timer.start();
+    }
+
+    /**
+     * Zooms in or out by a number of zoom levels, keeping the point at the center of the viewport
+     * centered, then scrolls back to the player.
+     * The tile size changes, so the sprites are scaled again once for the new size.
+     * @param levels The number of levels to zoom in, or out if negative.
+     */
+    public void zoom(int levels) {
+        int level = Math.max(0, Math.min(ZOOM_TILE_SIZES.length - 1, zoomLevel + levels));
+        if (level == zoomLevel) {
+            return;
+        }
+        int oldTileSize = tileSize;
+        zoomLevel = level;
+        tileSize = ZOOM_TILE_SIZES[level];
+        getController().setTileSize(tileSize);
+
+        double ratio = (double) tileSize / oldTileSize;
+        cameraX = (cameraX + getWidth() / 2.0) * ratio - getWidth() / 2.0;
+        cameraY = (cameraY + getHeight() / 2.0) * ratio - getHeight() / 2.0;
+        followPlayer();
+        repaint();
+    }
+
+    /**
+     * Paints the cells of the viewport that intersect the clip area: background and grid lines for
+     * every cell, and the contents and health bars of the cells visible to the player, straight onto
+     * the canvas. Cells outside the viewport are never looked at.
+     * @param g The graphics context to paint on.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g;
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        int offsetX = (int) Math.round(cameraX);
+        int offsetY = (int) Math.round(cameraY);
+        int firstRow = Math.max(0, Math.floorDiv(clip.y + offsetY, tileSize));
+        int lastRow = Math.min(rows - 1, Math.floorDiv(clip.y + clip.height - 1 + offsetY, tileSize));
+        int firstCol = Math.max(0, Math.floorDiv(clip.x + offsetX, tileSize));
+        int lastCol = Math.min(cols - 1, Math.floorDiv(clip.x + clip.width - 1 + offsetX, tileSize));
+
+        GameController controller = getController();
+        boolean highlighted = !highlights.isEmpty(); // Looking up every cell would box its index
+        for (int row = firstRow; row <= lastRow; row++) {
+            int y = row * tileSize - offsetY;
+            for (int col = firstCol; col <= lastCol; col++) {
+                int x = col * tileSize - offsetX;
+                Color highlight = highlighted ? highlights.get(row * cols + col) : null;
+                if (highlight != null) {
+                    g2.setColor(highlight);
+                    g2.fillRect(x, y, tileSize, tileSize);
+                }
+                controller.paintTile(g2, row, col, x, y);
+                g2.setColor(GRID_COLOR);
+                g2.drawRect(x, y, tileSize - 1, tileSize - 1);
+            }
+        }
+    }
+
+    /**
+     * Binds the + and - keys to zooming in and out.
+     */
+    private void setupZoomKeys() {
+        InputMap inputMap = getInputMap(WHEN_IN_FOCUSED_WINDOW);
+        ActionMap actionMap = getActionMap();
+
+        inputMap.put(KeyStroke.getKeyStroke("EQUALS"), "zoomIn");
+        inputMap.put(KeyStroke.getKeyStroke("PLUS"), "zoomIn");
+        inputMap.put(KeyStroke.getKeyStroke("ADD"), "zoomIn");
+        inputMap.put(KeyStroke.getKeyStroke("MINUS"), "zoomOut");
+        inputMap.put(KeyStroke.getKeyStroke("SUBTRACT"), "zoomOut");
+
+        actionMap.put("zoomIn", new AbstractAction() {
+            public void actionPerformed(ActionEvent e) {
+                zoom(1);
+            }
+        });
+        actionMap.put("zoomOut", new AbstractAction() {
+            public void actionPerformed(ActionEvent e) {
+                zoom(-1);
+            }
+        });
+    }
+
+    /**
+     * Puts the camera on the player at once, without scrolling, for instance when the viewport is resized.
+     */
+    private void placeCamera() {
+        scrollTimer.stop();
+        updateTarget();
+        cameraX = targetX;
+        cameraY = targetY;
+        repaint();
+    }
+
+    /**
+     * Points the camera at the player and starts scrolling if the camera is not there yet.
+     * The first time the viewport has a size, the camera is placed without scrolling.
+     */
+    private void followPlayer() {
+        if (getWidth() == 0 || getHeight() == 0) {
+            return;
+        }
+        if (!placed) {
+            placed = true;
+            placeCamera();
+            return;
+        }
+        updateTarget();
+        if (cameraX != targetX || cameraY != targetY) {
+            scrollTimer.start(); // No-op while already scrolling
+        }
+    }
+
+    /**
+     * Computes where the camera should be to center the player, kept within the map.
+     * A map smaller than the viewport is centered in it instead.
+     */
+    private void updateTarget() {
+        Position player = getController().getPlayer().getPosition();
+        targetX = clampCamera(player.getCol() * tileSize + tileSize / 2.0 - getWidth() / 2.0,
+                cols * tileSize, getWidth());
+        targetY = clampCamera(player.getRow() * tileSize + tileSize / 2.0 - getHeight() / 2.0,
+                rows * tileSize, getHeight());
+    }
+
+    /**
+     * Keeps one coordinate of the camera within the map.
+     * @param camera     The desired coordinate of the viewport's top-left corner on the map, in pixels.
+     * @param mapPixels  The extent of the map along that axis, in pixels.
+     * @param viewPixels The extent of the viewport along that axis, in pixels.
+     * @return The coordinate closest to the desired one that shows no space beyond the map,
+     *         or the coordinate that centers the map if it is smaller than the viewport.
+     */
+    private static double clampCamera(double camera, int mapPixels, int viewPixels) {
+        if (mapPixels <= viewPixels) {
+            return (mapPixels - viewPixels) / 2.0;
+        }
+        return Math.max(0, Math.min(mapPixels - viewPixels, camera));
+    }
+
+    /**
+     * Moves the camera one frame closer to its target, covering a fixed share of the remaining
+     * distance so the scroll slows down as it arrives, and repaints the viewport.
+     */
+    private void scrollStep() {
+        double dx = targetX - cameraX;
+        double dy = targetY - cameraY;
+        if (Math.abs(dx) < SCROLL_SNAP_PIXELS && Math.abs(dy) < SCROLL_SNAP_PIXELS) {
+            cameraX = targetX;
+            cameraY = targetY;
+            scrollTimer.stop();
+        } else {
+            cameraX += dx * SCROLL_EASING;
+            cameraY += dy * SCROLL_EASING;
+        }
+        repaint();
+    }
+
+    /**
+     * Repaints a changed cell, given by its packed index.
+     * @param packed The packed index of the cell.
+     */
+    private void repaintCell(int packed) {
+        repaintCell(packed / cols, packed % cols);
+    }
+
+    /**
+     * Schedules one cell for repainting if it lies in the viewport.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
+     */
+    private void repaintCell(int row, int col) {
+        int x = col * tileSize - (int) Math.round(cameraX);
+        int y = row * tileSize - (int) Math.round(cameraY);
+        if (x + tileSize > 0 && y + tileSize > 0 && x < getWidth() && y < getHeight()) {
+            repaint(x, y, tileSize, tileSize);
+        }
+    }
+
+    /**
+     * Finds the zoom level whose tile size is closest to a given tile size.
+     * @param tileSize The tile size in pixels.
+     * @return The index of the closest zoom level.
+     */
+    private static int nearestZoomLevel(int tileSize) {
+        int nearest = 0;
+        for (int level = 1; level < ZOOM_TILE_SIZES.length; level++) {
+            if (Math.abs(ZOOM_TILE_SIZES[level] - tileSize) < Math.abs(ZOOM_TILE_SIZES[nearest] - tileSize)) {
+                nearest = level;
+            }
+        }
+        return nearest;
+    }
+
+    // --- Fields ---
+    private static final long serialVersionUID = 1L;
+    private static final Color EMPTY_COLOR = new Color(238, 238, 238);
+    private static final Color GRID_COLOR = new Color(200, 200, 200);
+    private static final int HIGHLIGHT_MILLIS = 300;
+    private static final int VIEWPORT_SIZE = 640;
+    private static final int[] ZOOM_TILE_SIZES = {12, 16, 24, 32, 48, 64, 96};
+    private static final int SCROLL_FRAME_MILLIS = 16;
+    private static final double SCROLL_EASING = 0.25;
+    private static final double SCROLL_SNAP_PIXELS = 0.5;
+    private final int rows;
+    private final int cols;
+    private final Timer scrollTimer;
+    private final transient Map<Integer, Color> highlights = new HashMap<>();
+    private int tileSize;
+    private int zoomLevel;
+    private boolean placed = false;
+    private double cameraX;
+    private double cameraY;
+    private double targetX;
+    private double targetY;
+}
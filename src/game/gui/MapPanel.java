@@ -1,9 +1,11 @@
 package game.gui;
 import game.controller.GameController;
-import game.observer.GameObserver;
+import game.map.Position;
+import game.map.VisibleCells;
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 
 /**
  * The MapPanel class represents the game map in the GUI.
@@ -11,7 +13,7 @@ import java.awt.event.*;
  * The panel handles user interactions such as left and right clicks,
  * and provides methods to refresh the display and highlight cells.
  */
-public class MapPanel extends JPanel implements GameObserver {
+public class MapPanel extends MapView {
 
     /**
      * Constructs a MapPanel with the specified game controller.
@@ -19,7 +21,8 @@ public class MapPanel extends JPanel implements GameObserver {
      * @param controller The game controller that manages the game state and player actions
      */
     public MapPanel(GameController controller) {
-        this.controller = controller;
+        super(controller);
+        bindArrowKeys();
         int rows = controller.getMapRows();
         int cols = controller.getMapCols();
 
@@ -29,7 +32,6 @@ public class MapPanel extends JPanel implements GameObserver {
         for (int row = 0; row < rows; row++) {
             for (int col = 0; col < cols; col++) {
                 JButton button = new JButton();
-                button.setIcon(controller.getIconWithHealthBar(row, col));
                 int finalRow = row;
                 int finalCol = col;
 
@@ -48,24 +50,31 @@ public class MapPanel extends JPanel implements GameObserver {
                 add(button);
             }
         }
-        setupKeyBindings();
+        controller.trackDirtyCells();
+        refresh();
     }
 
     /**
-     * Refreshes the map display by updating the icons of all buttons
+     * Refreshes the map display by updating the icons of the buttons
      * based on the current game state.
+     * Only the cells that changed since the last refresh get new icons: cells entered or left by
+     * an entity, cells whose health bars changed, and cells that came into or went out of view.
+     * The player's cell is always redrawn, since the player's health changes on its own.
+     * If too many cells changed, every visible cell is redrawn instead.
      * This method is called whenever the game state changes to reflect updates.
      */
+    @Override
     public void refresh() {
-        for (int row = 0; row < cellButtons.length; row++) {
-            for (int col = 0; col < cellButtons[0].length; col++) {
-                cellButtons[row][col].setIcon(null);
-                cellButtons[row][col].setIcon(controller.getIconWithHealthBar(row, col));
-            }
+        VisibleCells visible = getController().getVisibleCells();
+        if (drawnCells == null || !getController().drainDirtyCells(this::redrawCell)) {
+            redrawAll(visible);
+        } else {
+            Position player = getController().getPlayer().getPosition();
+            redrawCell(player.getRow(), player.getCol());
         }
+        drawnCells = visible;
     }
 
-
     /**
      * Highlights a specific cell in the map with a temporary color change.
      * This is used to visually indicate actions such as successful moves or attacks.
@@ -73,6 +82,7 @@ public class MapPanel extends JPanel implements GameObserver {
      * @param col   The column index of the cell to highlight
      * @param color The color to use for highlighting
      */
+    @Override
     public void highlightCell(int row, int col, Color color) {
         JButton cell = cellButtons[row][col];
         Color original = cell.getBackground();
@@ -81,50 +91,50 @@ public class MapPanel extends JPanel implements GameObserver {
     }
 
     /**
-     * refreshes the map display when the game state is updated.
+     * Redraws a changed cell, given by its packed index.
+     * @param packed The packed index of the cell.
      */
-    @Override
-    public void onGameUpdated() {
-        refresh();
+    private void redrawCell(int packed) {
+        redrawCell(packed / cellButtons.length, packed % cellButtons.length);
     }
 
     /**
-     * Sets up key bindings for arrow keys to move the player character.
-     * This allows the player to navigate the map using keyboard arrow keys.
+     * Redraws one cell: its contents if it is visible, blank otherwise.
+     * @param row The row of the cell.
+     * @param col The column of the cell.
      */
-    private void setupKeyBindings() {
-        InputMap inputMap = getInputMap(WHEN_IN_FOCUSED_WINDOW);
-        ActionMap actionMap = getActionMap();
-
-        inputMap.put(KeyStroke.getKeyStroke("UP"), "moveUp");
-        inputMap.put(KeyStroke.getKeyStroke("DOWN"), "moveDown");
-        inputMap.put(KeyStroke.getKeyStroke("LEFT"), "moveLeft");
-        inputMap.put(KeyStroke.getKeyStroke("RIGHT"), "moveRight");
+    private void redrawCell(int row, int col) {
+        JButton button = cellButtons[row][col];
+        if (getController().getVisibleCells().contains(row, col)) {
+            button.setIcon(getController().getIconWithHealthBar(row, col));
+        } else if (button.getIcon() != null) {
+            button.setIcon(null);
+        }
+    }
 
-        actionMap.put("moveUp", new AbstractAction() {
-            public void actionPerformed(ActionEvent e) {
-                controller.handleArrowKey("UP");
-            }
-        });
-        actionMap.put("moveDown", new AbstractAction() {
-            public void actionPerformed(ActionEvent e) {
-                controller.handleArrowKey("DOWN");
-            }
-        });
-        actionMap.put("moveLeft", new AbstractAction() {
-            public void actionPerformed(ActionEvent e) {
-                controller.handleArrowKey("LEFT");
-            }
-        });
-        actionMap.put("moveRight", new AbstractAction() {
-            public void actionPerformed(ActionEvent e) {
-                controller.handleArrowKey("RIGHT");
+    /**
+     * Redraws every visible cell and blanks the cells that were visible on the previous refresh only.
+     * Hidden cells are blank, so no other cell needs a new icon.
+     * @param visible The cells visible now.
+     */
+    private void redrawAll(VisibleCells visible) {
+        if (drawnCells != null && drawnCells != visible) {
+            for (int i = 0; i < drawnCells.size(); i++) {
+                int row = drawnCells.getRow(i), col = drawnCells.getCol(i);
+                if (!visible.contains(row, col)) {
+                    cellButtons[row][col].setIcon(null);
+                }
             }
-        });
+        }
+        for (int i = 0; i < visible.size(); i++) {
+            int row = visible.getRow(i), col = visible.getCol(i);
+            cellButtons[row][col].setIcon(getController().getIconWithHealthBar(row, col));
+        }
     }
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private final JButton[][] cellButtons;
-    private final GameController controller;
+    private transient VisibleCells drawnCells;
 }
 
@@ -0,0 +1,93 @@
+package game.gui;
+import game.controller.GameController;
+import game.observer.GameObserver;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+
+/**
+ * Base class of the components that display the game map.
+ * A map view redraws itself when the game state is updated and moves the player with the arrow keys.
+ * Subclasses decide how cells are laid out and painted, and turn clicks on a cell into
+ * calls to the controller.
+ */
+public abstract class MapView extends JPanel implements GameObserver {
+
+    /**
+     * Constructs a map view. Subclasses call {@link #bindArrowKeys()} once they are set up.
+     * @param controller The game controller that manages the game state and player actions
+     */
+    protected MapView(GameController controller) {
+        this.controller = controller;
+    }
+
+    /**
+     * Refreshes the map display to reflect the current game state.
+     */
+    public abstract void refresh();
+
+    /**
+     * Highlights a specific cell in the map with a temporary color change.
+     * This is used to visually indicate actions such as successful moves or attacks.
+     * @param row   The row index of the cell to highlight
+     * @param col   The column index of the cell to highlight
+     * @param color The color to use for highlighting
+     */
+    public abstract void highlightCell(int row, int col, Color color);
+
+    /**
+     * refreshes the map display when the game state is updated.
+     */
+    @Override
+    public void onGameUpdated() {
+        refresh();
+    }
+
+    /**
+     * Gets the controller the view reports user actions to.
+     * @return The game controller.
+     */
+    protected GameController getController() {
+        return controller;
+    }
+
+    /**
+     * Sets up key bindings for arrow keys to move the player character.
+     * This allows the player to navigate the map using keyboard arrow keys.
+     * Called by subclass constructors, so the view is not handed to Swing before it is fully constructed.
+     */
+    protected final void bindArrowKeys() {
+        InputMap inputMap = getInputMap(WHEN_IN_FOCUSED_WINDOW);
+        ActionMap actionMap = getActionMap();
+
+        inputMap.put(KeyStroke.getKeyStroke("UP"), "moveUp");
+        inputMap.put(KeyStroke.getKeyStroke("DOWN"), "moveDown");
+        inputMap.put(KeyStroke.getKeyStroke("LEFT"), "moveLeft");
+        inputMap.put(KeyStroke.getKeyStroke("RIGHT"), "moveRight");
+
+        actionMap.put("moveUp", new AbstractAction() {
+            public void actionPerformed(ActionEvent e) {
+                controller.handleArrowKey("UP");
+            }
+        });
+        actionMap.put("moveDown", new AbstractAction() {
+            public void actionPerformed(ActionEvent e) {
+                controller.handleArrowKey("DOWN");
+            }
+        });
+        actionMap.put("moveLeft", new AbstractAction() {
+            public void actionPerformed(ActionEvent e) {
+                controller.handleArrowKey("LEFT");
+            }
+        });
+        actionMap.put("moveRight", new AbstractAction() {
+            public void actionPerformed(ActionEvent e) {
+                controller.handleArrowKey("RIGHT");
+            }
+        });
+    }
+
+    // --- Fields ---
+    private static final long serialVersionUID = 1L;
+    private final transient GameController controller;
+}
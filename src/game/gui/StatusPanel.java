@@ -163,6 +163,7 @@ public class StatusPanel extends JPanel implements GameObserver {
     }
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private JLabel nameLabel;
     private JLabel classLabel;
     private JLabel treasureLabel;
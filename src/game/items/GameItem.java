@@ -117,6 +117,7 @@ public abstract class GameItem implements GameEntity {
 
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private Position position;
     private final boolean blocksMovement;
     private String description;
@@ -1,8 +1,8 @@
 package game.items;
 import game.characters.PlayerCharacter;
+import game.core.GameRandom;
 import game.log.LogManager;
 import game.map.Position;
-import java.util.Random;
 
 /**
  * Represents a health potion that can be collected and used by a player character.
@@ -19,7 +19,7 @@ public class Potion extends GameItem implements Interactable {
      */
     public Potion(Position position, boolean blocksMovement, int max, int min) {
         super(position, blocksMovement);
-        this.increaseAmount = new Random().nextInt(min, max);
+        this.increaseAmount = GameRandom.current().nextInt(min, max);
         this.isUsed = false;
         this.setDescription("This is a health potion, increased by " + increaseAmount);
     }
@@ -139,6 +139,7 @@ public class Potion extends GameItem implements Interactable {
     }
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private final int increaseAmount;
     private boolean isUsed;
 }
@@ -99,4 +99,7 @@ public class PowerPotion extends Potion {
     public String toString() {
         return "Power Potion " + getPosition();
     }
+
+    // --- Fields ---
+    private static final long serialVersionUID = 1L;
 }
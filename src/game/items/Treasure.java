@@ -1,5 +1,6 @@
 package game.items;
 import game.characters.PlayerCharacter;
+import game.core.GameRandom;
 import game.log.LogManager;
 import game.map.Position;
 
@@ -43,7 +44,7 @@ public class Treasure extends GameItem implements Interactable {
      */
     @Override
     public void interact(PlayerCharacter c) {
-        double random = Math.random();
+        double random = GameRandom.current().nextDouble();
         if (random <= 1.0 / 3.0) {
             Potion potion = new Potion(this.getPosition(), false, 50, 10);
             potion.collect(c);
@@ -94,6 +95,7 @@ public class Treasure extends GameItem implements Interactable {
     }
 
     // --- Fields ---
+    private static final long serialVersionUID = 1L;
     private final int value;
     private boolean collected;
 }
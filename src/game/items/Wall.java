@@ -57,4 +57,7 @@ public class Wall extends GameItem {
     public String getDisplaySymbol() {
         return "Wall";
     }
+
+    // --- Fields ---
+    private static final long serialVersionUID = 1L;
 }
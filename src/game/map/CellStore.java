@@ -0,0 +1,422 @@
+package game.map;
+import game.core.GameEntity;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Dense, thread-safe storage engine for a square block of cells of a game map.
+ * Cells live in a flat array indexed by (row - originRow) * width + (col - originCol).
+ * Every occupied cell holds an immutable snapshot of its entities together with a bitmask
+ * summarizing which entity categories (see {@link GameMap#PLAYER} and friends) it holds.
+ * Writers replace a cell's snapshot with compare-and-set, so readers such as the renderer and
+ * save snapshots never take a lock and always see a whole cell, never a half-updated one.
+ * The store also keeps an indexed set of its empty cells, so a uniformly random empty
+ * cell can be drawn in constant time.
+ * A dense map uses one store for the whole map; a chunked map uses one store per chunk.
+ */
+final class CellStore {
+
+    /**
+     * Constructs an empty store for a width x width block of cells.
+     * Cells of the block that fall outside the map are never reported as free.
+     * @param originRow the map row of the first cell of the block
+     * @param originCol the map column of the first cell of the block
+     * @param width the number of rows and columns covered by the store
+     * @param mapSize the size of the map the block belongs to
+     */
+    CellStore(int originRow, int originCol, int width, int mapSize) {
+        this.originRow = originRow;
+        this.originCol = originCol;
+        this.width = width;
+        this.mapSize = mapSize;
+        int cellCount = width * width;
+        this.cells = new AtomicReferenceArray<>(cellCount);
+        this.freeCells = new int[cellCount];
+        this.freeSlot = new int[cellCount];
+        resetFreeCells();
+    }
+
+    /**
+     * Returns the number of rows and columns covered by this store.
+     * @return the width of the store
+     */
+    int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the cell index of a map row and column covered by this store.
+     * @param row the map row of the cell
+     * @param col the map column of the cell
+     * @return the index of the cell inside this store
+     */
+    int localIndex(int row, int col) {
+        return (row - originRow) * width + (col - originCol);
+    }
+
+    /**
+     * Returns the map row of a cell of this store.
+     * @param cell the cell index
+     * @return the row of the cell on the map
+     */
+    int rowOf(int cell) {
+        return originRow + cell / width;
+    }
+
+    /**
+     * Returns the map column of a cell of this store.
+     * @param cell the cell index
+     * @return the column of the cell on the map
+     */
+    int colOf(int cell) {
+        return originCol + cell % width;
+    }
+
+    /**
+     * Returns the number of cells in this store, including cells that fall outside the map.
+     * @return the number of cells
+     */
+    int cellCount() {
+        return cells.length();
+    }
+
+    /**
+     * Returns the number of entities stored in a cell.
+     * @param cell the cell index
+     * @return the number of entities in the cell
+     */
+    int count(int cell) {
+        return entities(cell).length;
+    }
+
+    /**
+     * Checks whether a cell holds no entities.
+     * @param cell the cell index
+     * @return true if the cell is empty, false otherwise
+     */
+    boolean isEmpty(int cell) {
+        return cells.get(cell) == null;
+    }
+
+    /**
+     * Returns the category flags of a cell.
+     * @param cell the cell index
+     * @return the bitwise OR of the categories of the entities in the cell
+     */
+    int flags(int cell) {
+        Cell current = cells.get(cell);
+        return current == null ? 0 : current.flags;
+    }
+
+    /**
+     * Returns the entity stored in the given slot of a cell.
+     * Another thread may shrink the cell between this call and an earlier count,
+     * so a slot that no longer exists yields null.
+     * @param cell the cell index
+     * @param slot the slot inside the cell, between 0 and count(cell) - 1
+     * @return the entity stored in that slot, or null if the cell has fewer entities
+     */
+    GameEntity get(int cell, int slot) {
+        GameEntity[] entities = entities(cell);
+        return slot < entities.length ? entities[slot] : null;
+    }
+
+    /**
+     * Returns the current entities of a cell.
+     * The array is the cell's immutable snapshot and must not be modified.
+     * @param cell the cell index
+     * @return the entities of the cell, in insertion order
+     */
+    GameEntity[] entities(int cell) {
+        Cell current = cells.get(cell);
+        return current == null ? NO_ENTITIES : current.entities;
+    }
+
+    /**
+     * Checks whether a cell holds the given entity.
+     * @param cell the cell index
+     * @param gameEntity the entity to look for
+     * @return true if the entity is stored in the cell, false otherwise
+     */
+    boolean contains(int cell, GameEntity gameEntity) {
+        return indexOf(entities(cell), gameEntity) != -1;
+    }
+
+    /**
+     * Adds an entity to a cell unless it is already stored there.
+     * @param cell the cell index
+     * @param gameEntity the entity to add
+     * @return true if the entity was added, false if it was already present
+     */
+    boolean add(int cell, GameEntity gameEntity) {
+        while (true) {
+            Cell current = cells.get(cell);
+            GameEntity[] entities = current == null ? NO_ENTITIES : current.entities;
+            if (indexOf(entities, gameEntity) != -1) {
+                return false;
+            }
+            GameEntity[] updated = Arrays.copyOf(entities, entities.length + 1);
+            updated[entities.length] = gameEntity;
+            int updatedFlags = (current == null ? 0 : current.flags) | GameMap.categoryOf(gameEntity);
+            if (cells.compareAndSet(cell, current, new Cell(updated, updatedFlags))) {
+                if (current == null) {
+                    syncFreeCell(cell);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes an entity from a cell.
+     * The remaining entities keep their relative order.
+     * @param cell the cell index
+     * @param gameEntity the entity to remove
+     * @return true if the entity was removed, false if it was not present
+     */
+    boolean remove(int cell, GameEntity gameEntity) {
+        while (true) {
+            Cell current = cells.get(cell);
+            if (current == null) {
+                return false;
+            }
+            int slot = indexOf(current.entities, gameEntity);
+            if (slot == -1) {
+                return false;
+            }
+            Cell updated = null;
+            if (current.entities.length > 1) {
+                GameEntity[] entities = new GameEntity[current.entities.length - 1];
+                System.arraycopy(current.entities, 0, entities, 0, slot);
+                System.arraycopy(current.entities, slot + 1, entities, slot, entities.length - slot);
+                updated = new Cell(entities, flagsOf(entities));
+            }
+            if (cells.compareAndSet(cell, current, updated)) {
+                if (updated == null) {
+                    syncFreeCell(cell);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Copies the entities of a cell into a new list.
+     * @param cell the cell index
+     * @return a new list holding the entities of the cell, in insertion order
+     */
+    List<GameEntity> entitiesAt(int cell) {
+        return new ArrayList<>(Arrays.asList(entities(cell)));
+    }
+
+    /**
+     * Returns the number of empty cells in the store.
+     * @return the number of cells holding no entities
+     */
+    int freeCount() {
+        synchronized (freeLock) {
+            return freeCount;
+        }
+    }
+
+    /**
+     * Returns one of the empty cells by its position in the free-cell set.
+     * The order of the set is arbitrary and changes as cells fill and empty.
+     * @param i the position in the free-cell set
+     * @return the index of an empty cell, or -1 if the set has shrunk below i + 1 cells
+     */
+    int freeCell(int i) {
+        synchronized (freeLock) {
+            return i < freeCount ? freeCells[i] : -1;
+        }
+    }
+
+    /**
+     * Checks whether any cell of the store holds one of the given categories.
+     * @param categories a bitwise OR of category flags
+     * @return true if at least one cell holds one of the categories, false otherwise
+     */
+    boolean holdsAny(int categories) {
+        for (int cell = 0; cell < cells.length(); cell++) {
+            if ((flags(cell) & categories) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pins the store for one write, so it cannot be sealed until the write is done.
+     * Every successful pin must be matched by a call to {@link #unpin()}.
+     * @return true if the store is pinned, false if it is sealed and must not be written to
+     */
+    boolean pin() {
+        while (true) {
+            int current = pins.get();
+            if (current == SEALED) {
+                return false;
+            }
+            if (pins.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a pin taken with {@link #pin()}.
+     */
+    void unpin() {
+        pins.decrementAndGet();
+    }
+
+    /**
+     * Seals the store against writes, if no write is in progress.
+     * Once sealed, the contents of the store no longer change, so they can be copied safely.
+     * @return true if the store is sealed, false if a writer holds a pin on it
+     */
+    boolean seal() {
+        return pins.compareAndSet(0, SEALED);
+    }
+
+    /**
+     * Opens a sealed store to writes again.
+     */
+    void unseal() {
+        pins.set(0);
+    }
+
+    /**
+     * Copies the occupied cells of the store.
+     * @return a map from cell index to a new list of the entities in that cell
+     */
+    Map<Integer, List<GameEntity>> snapshot() {
+        Map<Integer, List<GameEntity>> result = new HashMap<>();
+        for (int cell = 0; cell < cells.length(); cell++) {
+            GameEntity[] entities = entities(cell);
+            if (entities.length > 0) {
+                result.put(cell, new ArrayList<>(Arrays.asList(entities)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes every entity from every cell.
+     */
+    void clear() {
+        synchronized (freeLock) {
+            for (int cell = 0; cell < cells.length(); cell++) {
+                cells.set(cell, null);
+            }
+            resetFreeCells();
+        }
+    }
+
+    /**
+     * Finds the slot holding the given entity itself.
+     * Entities are compared by identity: their equals follows their position, which changes as they move.
+     * @param entities the entities of a cell
+     * @param gameEntity the entity to look for
+     * @return the slot of the entity, or -1 if it is not present
+     */
+    private static int indexOf(GameEntity[] entities, GameEntity gameEntity) {
+        for (int i = 0; i < entities.length; i++) {
+            if (entities[i] == gameEntity) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Computes the category flags of a group of entities.
+     * @param entities the entities of a cell
+     * @return the bitwise OR of the categories of the entities
+     */
+    private static int flagsOf(GameEntity[] entities) {
+        int result = 0;
+        for (GameEntity entity : entities) {
+            result |= GameMap.categoryOf(entity);
+        }
+        return result;
+    }
+
+    /**
+     * Marks every cell inside the map as empty in the free-cell set.
+     * Must be called while holding freeLock, or before the store is shared.
+     */
+    private void resetFreeCells() {
+        freeCount = 0;
+        for (int i = 0; i < freeCells.length; i++) {
+            if (rowOf(i) < mapSize && colOf(i) < mapSize) {
+                freeCells[freeCount] = i;
+                freeSlot[i] = freeCount++;
+            } else {
+                freeSlot[i] = -1;
+            }
+        }
+    }
+
+    /**
+     * Brings the free-cell set in line with a cell that just became empty or occupied.
+     * Every writer that changes whether a cell is empty calls this after its update,
+     * and the set is made to match the cell's state at the time of the call, so the
+     * last call for a cell always leaves the set right even if writers race.
+     * Adding and removing a cell are both constant time; the last free cell takes the
+     * place of a removed one.
+     * @param cell the cell index
+     */
+    private void syncFreeCell(int cell) {
+        if (rowOf(cell) >= mapSize || colOf(cell) >= mapSize) {
+            return; // Cells outside the map are never free
+        }
+        synchronized (freeLock) {
+            int slot = freeSlot[cell];
+            boolean empty = cells.get(cell) == null;
+            if (empty && slot == -1) {
+                freeCells[freeCount] = cell;
+                freeSlot[cell] = freeCount++;
+            } else if (!empty && slot != -1) {
+                int lastCell = freeCells[--freeCount];
+                freeCells[slot] = lastCell;
+                freeSlot[lastCell] = slot;
+                freeSlot[cell] = -1;
+            }
+        }
+    }
+
+    /**
+     * Immutable contents of an occupied cell.
+     */
+    private static final class Cell {
+
+        /**
+         * Constructs a cell snapshot.
+         * @param entities the entities of the cell, which the snapshot takes ownership of
+         * @param flags the bitwise OR of the categories of the entities
+         */
+        Cell(GameEntity[] entities, int flags) {
+            this.entities = entities;
+            this.flags = (byte) flags;
+        }
+
+        // --- Fields ---
+        private final GameEntity[] entities;
+        private final byte flags;
+    }
+
+    // --- Fields ---
+    private static final GameEntity[] NO_ENTITIES = new GameEntity[0];
+    private static final int SEALED = -1;
+    private final int originRow;
+    private final int originCol;
+    private final int width;
+    private final int mapSize;
+    private final AtomicReferenceArray<Cell> cells;
+    private final Object freeLock = new Object();
+    private final AtomicInteger pins = new AtomicInteger();
+    private final int[] freeCells;
+    private final int[] freeSlot;
+    private int freeCount;
+}
@@ -0,0 +1,36 @@
+package game.map;
+import game.core.GameEntity;
+import java.util.List;
+
+/**
+ * Interface for objects that follow the life cycle of the chunks of a chunked GameMap.
+ * A chunked map materializes a chunk the first time one of its cells is touched,
+ * and writes chunks that were not touched recently to disk to bound its memory use.
+ */
+public interface ChunkListener {
+
+    /**
+     * Called the first time a chunk is touched, while the chunk is still empty.
+     * Implementations fill the chunk through {@link GameMap#addToGrid}.
+     * @param map      the map the chunk belongs to
+     * @param firstRow the first map row covered by the chunk
+     * @param firstCol the first map column covered by the chunk
+     * @param rows     the number of map rows covered by the chunk
+     * @param cols     the number of map columns covered by the chunk
+     */
+    void onChunkGenerated(GameMap map, int firstRow, int firstCol, int rows, int cols);
+
+    /**
+     * Called after an evicted chunk was read back from disk.
+     * @param map      the map the chunk belongs to
+     * @param entities the entities that are back on the map
+     */
+    void onChunkLoaded(GameMap map, List<GameEntity> entities);
+
+    /**
+     * Called right before a chunk is written to disk and dropped from memory.
+     * @param map      the map the chunk belongs to
+     * @param entities the entities that are leaving the map
+     */
+    void onChunkEvicted(GameMap map, List<GameEntity> entities);
+}
@@ -0,0 +1,294 @@
+package game.map;
+import game.core.GameEntity;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the resident chunks of a chunked GameMap.
+ * A chunk is generated through the ChunkListener the first time one of its cells is touched.
+ * When more than maxResidentChunks chunks are in memory, the least recently touched chunk
+ * that does not hold a player is serialized to a spill file and dropped; touching it again
+ * reads it back from that file.
+ * Looking up a resident chunk is lock-free. Writers pin the chunk they write to, and a chunk is
+ * only evicted once it is sealed against pins, so no write can land in a chunk after it was copied.
+ * A chunk stays resident until its spill file is written, so a failed spill loses nothing.
+ * Materializing and evicting chunks is serialized on the table, and recency is tracked coarsely,
+ * by the number of chunks materialized so far.
+ */
+final class ChunkTable {
+
+    /**
+     * Constructs an empty chunk table.
+     * @param map               the map the chunks belong to
+     * @param chunkSize         the number of rows and columns of a chunk
+     * @param maxResidentChunks the number of chunks kept in memory before evicting
+     */
+    ChunkTable(GameMap map, int chunkSize, int maxResidentChunks) {
+        this.map = map;
+        this.chunkSize = chunkSize;
+        this.maxResidentChunks = maxResidentChunks;
+        this.chunksPerSide = (map.getSize() + chunkSize - 1) / chunkSize;
+        this.table = new AtomicReferenceArray<>(chunksPerSide * chunksPerSide);
+        this.lastTouched = new int[chunksPerSide * chunksPerSide];
+    }
+
+    /**
+     * Sets the listener that generates, restores and releases chunk contents.
+     * @param listener the chunk listener, or null to create empty chunks
+     */
+    synchronized void setListener(ChunkListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the chunk covering a map cell, materializing it if needed.
+     * The chunk becomes the most recently touched one.
+     * @param row the map row of the cell
+     * @param col the map column of the cell
+     * @return the store of the chunk covering the cell
+     */
+    CellStore chunkAt(int row, int col) {
+        int id = idOf(row, col);
+        CellStore chunk = table.get(id);
+        if (chunk != null) {
+            int now = clock;
+            if (lastTouched[id] != now) {
+                lastTouched[id] = now; // Racy on purpose: recency only guides eviction
+            }
+            return chunk;
+        }
+        return materialize(id, row, col);
+    }
+
+    /**
+     * Returns the chunk covering a map cell, pinned for a write.
+     * The chunk cannot be evicted until {@link CellStore#unpin()} is called on it.
+     * @param row the map row of the cell
+     * @param col the map column of the cell
+     * @return the pinned store of the chunk covering the cell
+     */
+    CellStore pinChunkAt(int row, int col) {
+        CellStore chunk = chunkAt(row, col);
+        while (!chunk.pin()) {
+            // The chunk is being spilled: wait for the eviction to finish, then take the chunk that is resident
+            chunk = materialize(idOf(row, col), row, col);
+        }
+        return chunk;
+    }
+
+    /**
+     * Returns the chunks that are currently in memory.
+     * @return an unmodifiable list of the resident chunk stores
+     */
+    List<CellStore> residentChunks() {
+        return residentView;
+    }
+
+    /**
+     * Removes every chunk, including the ones spilled to disk.
+     */
+    synchronized void clear() {
+        for (Integer id : spilled) {
+            try {
+                Files.deleteIfExists(spillFile(id));
+            } catch (IOException e) {
+                System.err.println("Failed to delete chunk file: " + e.getMessage());
+            }
+        }
+        spilled.clear();
+        for (Integer id : resident.keySet()) {
+            table.set(id, null);
+        }
+        resident.clear();
+        residentView = List.of();
+    }
+
+    /**
+     * Brings a chunk into memory, generating it or reading it back from its spill file.
+     * @param id the chunk id
+     * @param row a map row covered by the chunk
+     * @param col a map column covered by the chunk
+     * @return the store of the chunk
+     */
+    private synchronized CellStore materialize(int id, int row, int col) {
+        CellStore chunk = table.get(id);
+        if (chunk != null) {
+            return chunk; // Another thread materialized it first
+        }
+        evictIfFull();
+
+        int firstRow = (row / chunkSize) * chunkSize;
+        int firstCol = (col / chunkSize) * chunkSize;
+        chunk = new CellStore(firstRow, firstCol, chunkSize, map.getSize());
+        lastTouched[id] = ++clock;
+        resident.put(id, chunk);
+        residentView = List.copyOf(resident.values());
+        table.set(id, chunk);
+
+        if (spilled.remove(id)) {
+            List<GameEntity> entities = restore(id, chunk);
+            if (listener != null) {
+                listener.onChunkLoaded(map, entities);
+            }
+        } else if (listener != null) {
+            int rows = Math.min(chunkSize, map.getSize() - firstRow);
+            int cols = Math.min(chunkSize, map.getSize() - firstCol);
+            listener.onChunkGenerated(map, firstRow, firstCol, rows, cols);
+        }
+        return chunk;
+    }
+
+    /**
+     * Evicts the least recently touched chunk without a player if the table is full.
+     * Chunks that are being written to are passed over. The chunk is sealed, written to its
+     * spill file, and only then dropped from the table and reported to the listener.
+     */
+    private void evictIfFull() {
+        if (resident.size() < maxResidentChunks) {
+            return;
+        }
+        Set<Integer> busy = new HashSet<>();
+        while (true) {
+            Integer victim = null;
+            for (Map.Entry<Integer, CellStore> entry : resident.entrySet()) {
+                int id = entry.getKey();
+                if ((victim == null || lastTouched[id] < lastTouched[victim])
+                        && !busy.contains(id) && !entry.getValue().holdsAny(GameMap.PLAYER)) {
+                    victim = id;
+                }
+            }
+            if (victim == null) {
+                return; // Every other resident chunk holds a player or is in use, so the table grows instead
+            }
+            if (resident.get(victim).seal()) {
+                evict(victim);
+                return;
+            }
+            busy.add(victim);
+        }
+    }
+
+    /**
+     * Spills a sealed chunk and drops it from the table.
+     * If the spill fails, the chunk is unsealed and stays resident, and the table grows instead.
+     * @param id the id of the sealed chunk
+     */
+    private void evict(int id) {
+        CellStore chunk = resident.get(id);
+        Map<Integer, List<GameEntity>> cells = chunk.snapshot();
+        try {
+            spill(id, cells);
+        } catch (UncheckedIOException e) {
+            chunk.unseal();
+            System.err.println(e.getMessage() + ": " + e.getCause().getMessage());
+            return;
+        }
+
+        table.set(id, null);
+        resident.remove(id);
+        residentView = List.copyOf(resident.values());
+        if (listener != null) {
+            List<GameEntity> entities = new ArrayList<>();
+            cells.values().forEach(entities::addAll);
+            listener.onChunkEvicted(map, entities);
+        }
+    }
+
+    /**
+     * Writes the occupied cells of a chunk to its spill file.
+     * @param id the chunk id
+     * @param cells the occupied cells of the chunk
+     */
+    private void spill(int id, Map<Integer, List<GameEntity>> cells) {
+        Path file = spillFile(id);
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeObject(cells);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // The broken file is never read, since the chunk is not marked as spilled
+            }
+            throw new UncheckedIOException("Failed to spill chunk " + id, e);
+        }
+        file.toFile().deleteOnExit();
+        spilled.add(id);
+    }
+
+    /**
+     * Reads a chunk back from its spill file into an empty store.
+     * @param id the chunk id
+     * @param chunk the empty store to fill
+     * @return the entities that were restored
+     */
+    @SuppressWarnings("unchecked")
+    private List<GameEntity> restore(int id, CellStore chunk) {
+        Path file = spillFile(id);
+        Map<Integer, List<GameEntity>> cells;
+        try (ObjectInputStream in = new ObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            cells = (Map<Integer, List<GameEntity>>) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to restore chunk " + id, e);
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Failed to delete chunk file: " + e.getMessage());
+        }
+
+        List<GameEntity> entities = new ArrayList<>();
+        for (Map.Entry<Integer, List<GameEntity>> entry : cells.entrySet()) {
+            for (GameEntity entity : entry.getValue()) {
+                chunk.add(entry.getKey(), entity);
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Returns the id of the chunk covering a map cell.
+     * @param row the map row of the cell
+     * @param col the map column of the cell
+     * @return the chunk id
+     */
+    private int idOf(int row, int col) {
+        return (row / chunkSize) * chunksPerSide + (col / chunkSize);
+    }
+
+    /**
+     * Returns the spill file of a chunk, creating the spill directory on first use.
+     * @param id the chunk id
+     * @return the path of the spill file
+     */
+    private Path spillFile(int id) {
+        try {
+            if (spillDirectory == null) {
+                spillDirectory = Files.createTempDirectory("game-map-chunks");
+                spillDirectory.toFile().deleteOnExit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the chunk spill directory", e);
+        }
+        return spillDirectory.resolve("chunk-" + id + ".bin");
+    }
+
+    // --- Fields ---
+    private final GameMap map;
+    private final int chunkSize;
+    private final int maxResidentChunks;
+    private final int chunksPerSide;
+    private final AtomicReferenceArray<CellStore> table;
+    private final int[] lastTouched;
+    private final Map<Integer, CellStore> resident = new HashMap<>();
+    private final Set<Integer> spilled = new HashSet<>();
+    private volatile List<CellStore> residentView = List.of();
+    private volatile int clock;
+    private ChunkListener listener;
+    private Path spillDirectory;
+}
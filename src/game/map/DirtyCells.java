@@ -0,0 +1,121 @@
+package game.map;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of the map cells that changed since a renderer last looked, by packed index.
+ * Any thread may mark a cell; the renderer drains the set once per frame and redraws those cells only.
+ * The set holds a bounded number of cells in an open-addressing table, so marking never allocates.
+ * When more cells change between two drains than the set can hold, it stops tracking single cells
+ * and reports that every cell changed.
+ */
+final class DirtyCells {
+
+    /**
+     * Constructs an empty set.
+     * @param capacity the number of distinct cells tracked before the set overflows
+     * @throws IllegalArgumentException if capacity is not positive or too large
+     */
+    DirtyCells(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity out of range: " + capacity);
+        }
+        this.capacity = capacity;
+        // At most half full, so probe sequences stay short
+        this.slots = new int[Integer.highestOneBit(capacity) << 2];
+        this.shift = Integer.numberOfLeadingZeros(slots.length - 1);
+        this.order = new int[capacity];
+        Arrays.fill(slots, FREE);
+    }
+
+    /**
+     * Marks a cell as changed.
+     * @param packed the packed index of the cell (see {@link GameMap#pack})
+     */
+    synchronized void mark(int packed) {
+        if (overflowed) {
+            return;
+        }
+        int mask = slots.length - 1;
+        int slot = home(packed);
+        while (slots[slot] != FREE) {
+            if (slots[slot] == packed) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (count == capacity) {
+            markAll();
+            return;
+        }
+        slots[slot] = packed;
+        order[count++] = packed;
+    }
+
+    /**
+     * Marks every cell as changed, for instance after the whole map was replaced.
+     */
+    synchronized void markAll() {
+        overflowed = true;
+        reset();
+    }
+
+    /**
+     * Passes every cell marked since the last drain to an action, in the order they were first marked,
+     * and empties the set.
+     * @param action receives the packed index of each changed cell
+     * @return true if the action saw every changed cell, false if every cell of the map must be
+     *         considered changed; the action is not called then
+     */
+    boolean drain(IntConsumer action) {
+        int[] changed;
+        synchronized (this) {
+            if (overflowed) {
+                overflowed = false;
+                return false;
+            }
+            changed = Arrays.copyOf(order, count);
+            reset();
+        }
+        // The action runs outside the lock, so movers are never held up by a renderer
+        for (int packed : changed) {
+            action.accept(packed);
+        }
+        return true;
+    }
+
+    /**
+     * Empties the table of tracked cells.
+     */
+    private void reset() {
+        int mask = slots.length - 1;
+        for (int i = 0; i < count; i++) {
+            int slot = home(order[i]);
+            // Cells cleared before may have left gaps, so probe until the cell itself is found
+            while (slots[slot] != order[i]) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = FREE;
+        }
+        count = 0;
+    }
+
+    /**
+     * Returns the slot a cell is looked up from, spread with Fibonacci hashing.
+     * @param packed the packed index of the cell
+     * @return the first slot to probe
+     */
+    private int home(int packed) {
+        return (packed * 0x9E3779B9) >>> shift;
+    }
+
+    // --- Fields ---
+    private static final int FREE = -1;
+    private static final int MAX_CAPACITY = 1 << 20;
+    private final int capacity;
+    private final int[] slots;
+    private final int shift;
+    private final int[] order;
+    private int count;
+    private boolean overflowed;
+}
@@ -1,37 +1,64 @@
 package game.map;
+import game.characters.Enemy;
+import game.characters.PlayerCharacter;
 import game.core.GameEntity;
+import game.core.GameRandom;
+import game.items.GameItem;
+import game.items.Wall;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a square grid-based game map that holds game entities at specific positions.
  * Each grid cell (Position) may contain multiple entities.
+ * Maps up to DENSE_MAP_LIMIT cells wide are stored densely in one {@link CellStore},
+ * indexed by row * size + col. Larger maps are chunked: fixed-size chunks are materialized
+ * when first touched and spilled to disk when they have not been touched for a while
+ * (see {@link ChunkListener}). In chunked mode, whole-map operations such as random
+ * sampling and grid copies only cover the chunks that are currently in memory.
+ * The map is safe to use from several threads: reading a cell never takes a lock and always
+ * sees the cell either before or after a concurrent change, never in between.
  */
 public class GameMap {
 
     /**
-     * Returns a singleton instance of GameMap with the specified size.
-     * If an instance already exists, it returns that instance.
+     * Constructs an empty game map with the specified size.
+     * Every game world owns its own map, so several worlds can run side by side.
+     * Maps wider than DENSE_MAP_LIMIT are chunked.
+     * The cell locks are spread over one stripe per cell, up to DEFAULT_LOCK_STRIPES stripes.
      * @param size the size of the game map (size x size)
-     * @return the singleton instance of GameMap
+     * @throws IllegalArgumentException if the map is too large for packed cell coordinates
      */
-    public static GameMap getInstance(int size) {
-        if (instance == null) {
-            instance = new GameMap(size);
-        }
-        return instance;
+    public GameMap(int size) {
+        this(size, (int) Math.max(1, Math.min(DEFAULT_LOCK_STRIPES, (long) size * size)));
     }
 
     /**
-     * Returns the singleton instance of GameMap.
-     * If the instance has not been initialized, it throws an IllegalStateException.
-     * @return the singleton instance of GameMap
-     * @throws IllegalStateException if the instance has not been initialized
+     * Constructs an empty game map with the specified size and number of lock stripes.
+     * More stripes mean fewer unrelated cells sharing a lock, at a fixed cost in memory.
+     * @param size the size of the game map (size x size)
+     * @param lockStripes the number of cell lock stripes, rounded up to a power of two
+     * @throws IllegalArgumentException if the map is too large for packed cell coordinates
+     *         or the stripe count is out of range
      */
-    public static GameMap getInstance() {
-        if (instance == null) {
-            throw new IllegalStateException("GameMap has not been initialized.");
+    @SuppressWarnings("this-escape") // The chunk table does not call back into the map before the first cell is touched
+    public GameMap(int size, int lockStripes) {
+        if ((long) size * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Map size too large: " + size);
+        }
+        this.size = size;
+        this.cellLocks = new StripedLockTable(lockStripes);
+        if (size <= DENSE_MAP_LIMIT) {
+            this.cells = new CellStore(0, 0, size, size);
+            this.chunks = null;
+        } else {
+            this.cells = null;
+            this.chunks = new ChunkTable(this, CHUNK_SIZE, MAX_RESIDENT_CHUNKS);
         }
-        return instance;
+        Position.reserve(size);
     }
 
     /**
@@ -50,16 +77,18 @@ public class GameMap {
     public Map<Position, List<GameEntity>> copyGrid() {
         Map<Position, List<GameEntity>> copiedGrid = new HashMap<>();
 
-        for (Map.Entry<Position, List<GameEntity>> entry : this.grid.entrySet()) {
-            Position originalPos = entry.getKey();
-            List<GameEntity> originalEntities = entry.getValue();
+        for (CellStore store : stores()) {
+            for (int cell = 0; cell < store.cellCount(); cell++) {
+                GameEntity[] entities = store.entities(cell);
+                if (entities.length == 0) continue;
 
-            List<GameEntity> copiedEntities = new ArrayList<>();
-            for (GameEntity entity : originalEntities) {
-                copiedEntities.add(entity.deepCopy());
-            }
+                List<GameEntity> copiedEntities = new ArrayList<>(entities.length);
+                for (GameEntity entity : entities) {
+                    copiedEntities.add(entity.deepCopy());
+                }
 
-            copiedGrid.put(originalPos, copiedEntities);
+                copiedGrid.put(Position.of(store.rowOf(cell), store.colOf(cell)), copiedEntities);
+            }
         }
 
         return copiedGrid;
@@ -67,94 +96,417 @@ public class GameMap {
 
     /**
      * Checks if the specified position is empty (i.e., contains no entities).
+     * Positions outside the map are reported as empty.
      * @param pos the position to check
      * @return true if the position is empty, false otherwise
      */
     public boolean isEmpty(Position pos) {
-        List<GameEntity> entities = grid.get(pos);
-        return entities == null || entities.isEmpty();
+        if (!isWithinBounds(pos)) {
+            return true;
+        }
+        CellStore store = storeAt(pos.getRow(), pos.getCol());
+        return store.isEmpty(store.localIndex(pos.getRow(), pos.getCol()));
+    }
+
+    /**
+     * Returns the category flags of the cell at the specified position.
+     * The flags are kept up to date on every add and remove, so checking them never iterates the cell.
+     * @param pos the position to check
+     * @return the bitwise OR of PLAYER, ENEMY, ITEM and WALL for the entities in the cell,
+     *         or 0 if the position is empty or outside the map
+     */
+    public int getCellFlags(Position pos) {
+        if (!isWithinBounds(pos)) {
+            return 0;
+        }
+        CellStore store = storeAt(pos.getRow(), pos.getCol());
+        return store.flags(store.localIndex(pos.getRow(), pos.getCol()));
     }
 
     /**
-     * Returns a random empty position on the game map.
-     * It tries up to size * size times to find an empty position.
-     * @return a random empty Position
-     * @throws RuntimeException if no empty position is found after max tries
+     * Checks whether the cell at the specified position holds any of the given categories.
+     * @param pos the position to check
+     * @param categories a bitwise OR of PLAYER, ENEMY, ITEM and WALL
+     * @return true if at least one of the categories is present in the cell, false otherwise
+     */
+    public boolean hasAny(Position pos, int categories) {
+        return (getCellFlags(pos) & categories) != 0;
+    }
+
+    /**
+     * Returns the category flags of an entity.
+     * A wall is also an item, so it reports both ITEM and WALL.
+     * @param gameEntity the entity to classify
+     * @return the bitwise OR of the categories the entity belongs to
+     */
+    public static int categoryOf(GameEntity gameEntity) {
+        int result = 0;
+        if (gameEntity instanceof PlayerCharacter) result |= PLAYER;
+        if (gameEntity instanceof Enemy) result |= ENEMY;
+        if (gameEntity instanceof GameItem) result |= ITEM;
+        if (gameEntity instanceof Wall) result |= WALL;
+        return result;
+    }
+
+    /**
+     * Returns a uniformly random empty position on the game map.
+     * The position is drawn from the map's sets of empty cells in constant time for a dense map.
+     * A chunked map draws from its resident chunks, materializing a random chunk if none of
+     * them has an empty cell.
+     * @return a random empty Position, or null if the map has no empty cell
      */
     public Position getRandomEmptyPosition() {
-        Random random = new Random();
-        int maxTries = size * size;
-        for (int i = 0; i < maxTries; i++) {
-            int randX = random.nextInt(size);
-            int randY = random.nextInt(size);
-            Position pos = new Position(randX, randY);
-            if (isEmpty(pos)) {
+        RandomGenerator random = GameRandom.current();
+        List<CellStore> stores = stores();
+        int free = countFree(stores);
+        if (free == 0 && chunks != null) {
+            stores = List.of(chunks.chunkAt(random.nextInt(size), random.nextInt(size)));
+            free = countFree(stores);
+        }
+        Position pos = null;
+        // Other threads may fill cells between counting and drawing, so a draw can miss
+        while (pos == null && free > 0) {
+            pos = freePosition(stores, random.nextInt(free));
+            free = countFree(stores);
+        }
+        return pos;
+    }
+
+    /**
+     * Returns a uniformly random empty position that satisfies the given filter.
+     * A few constant-time draws are tried first; if none of them passes the filter,
+     * every empty cell is considered once so that a matching cell is always found if one exists.
+     * @param filter the condition the returned position must satisfy
+     * @return a random empty Position accepted by the filter, or null if there is none
+     */
+    public Position getRandomEmptyPosition(Predicate<Position> filter) {
+        RandomGenerator random = GameRandom.current();
+        List<CellStore> stores = stores();
+        int free = countFree(stores);
+        for (int i = 0; i < FILTERED_SAMPLE_TRIES && free > 0; i++) {
+            Position pos = freePosition(stores, random.nextInt(free));
+            if (pos != null && filter.test(pos)) {
                 return pos;
             }
         }
-        throw new RuntimeException("No empty position found on the board");
+        // Reservoir sampling over the remaining candidates keeps the choice uniform
+        Position chosen = null;
+        int matches = 0;
+        for (CellStore store : stores) {
+            int cell;
+            for (int i = 0; (cell = store.freeCell(i)) != -1; i++) {
+                Position pos = Position.of(store.rowOf(cell), store.colOf(cell));
+                if (filter.test(pos) && random.nextInt(++matches) == 0) {
+                    chosen = pos;
+                }
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Returns a random empty position at least the given Manhattan distance away from a position.
+     * Typically used to spawn entities away from the player.
+     * @param origin the position to keep away from
+     * @param minDistance the minimum Manhattan distance from origin
+     * @return a random empty Position far enough from origin, or null if there is none
+     */
+    public Position getRandomEmptyPositionAwayFrom(Position origin, int minDistance) {
+        return getRandomEmptyPosition(pos -> pos.distanceTo(origin) >= minDistance);
+    }
+
+    /**
+     * Returns the entities of a type within a Manhattan radius of a position.
+     * Only the cells of the radius are visited, and cells whose category flags
+     * cannot hold the type are skipped without looking at their entities.
+     * On a chunked map the chunks covered by the radius are materialized.
+     * @param center the center of the search
+     * @param radius the maximum Manhattan distance from center
+     * @param type the class of the entities to return
+     * @param <T> the type of the entities to return
+     * @return a new list of the matching entities, ordered by row and then by column
+     */
+    public <T extends GameEntity> List<T> getEntitiesWithin(Position center, int radius, Class<T> type) {
+        List<T> result = new ArrayList<>();
+        int mask = categoryMaskOf(type);
+        int firstRow = Math.max(0, center.getRow() - radius);
+        int lastRow = Math.min(size - 1, center.getRow() + radius);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int span = radius - Math.abs(row - center.getRow());
+            int firstCol = Math.max(0, center.getCol() - span);
+            int lastCol = Math.min(size - 1, center.getCol() + span);
+            for (int col = firstCol; col <= lastCol; col++) {
+                CellStore store = storeAt(row, col);
+                int cell = store.localIndex(row, col);
+                if (mask != 0 && (store.flags(cell) & mask) == 0) continue;
+
+                for (GameEntity entity : store.entities(cell)) {
+                    if (type.isInstance(entity)) {
+                        result.add(type.cast(entity));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the entity of a type closest to a position, by Manhattan distance.
+     * The search visits rings of growing distance around center and stops at the first ring
+     * holding a match, so nearby targets are found without looking at the rest of the map.
+     * @param center the center of the search
+     * @param maxRadius the maximum Manhattan distance to search
+     * @param type the class of the entity to return
+     * @param <T> the type of the entity to return
+     * @return the nearest matching entity, or null if there is none within maxRadius
+     */
+    public <T extends GameEntity> T findNearest(Position center, int maxRadius, Class<T> type) {
+        int mask = categoryMaskOf(type);
+        int lastRadius = Math.min(maxRadius, 2 * (size - 1));
+        for (int distance = 0; distance <= lastRadius; distance++) {
+            for (int rowOffset = -distance; rowOffset <= distance; rowOffset++) {
+                int row = center.getRow() + rowOffset;
+                if (row < 0 || row >= size) continue;
+
+                int span = distance - Math.abs(rowOffset);
+                T found = firstOfType(row, center.getCol() - span, mask, type);
+                if (found == null && span != 0) {
+                    found = firstOfType(row, center.getCol() + span, mask, type);
+                }
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
     }
 
     /**
      * Adds a game entity to the grid at the specified position.
-     * If the position is empty, it creates a new list for that position.
      * If the entity is already present, it does not add it again.
      * @param pos the position where the entity should be added
      * @param gameEntity the game entity to add
-     * @return true if the entity was added, false if it was already present
+     * @return true if the entity was added, false if it was already present or the position is outside the map
      */
     public boolean addToGrid(Position pos, GameEntity gameEntity) {
-        List<GameEntity> entities = grid.get(pos);
-        if (entities == null) {
-            entities = new ArrayList<>();
-            entities.add(gameEntity);
-            grid.put(pos, entities);
-            return true;
+        if (!isWithinBounds(pos)) {
+            return false;
         }
-        if (!entities.contains(gameEntity)) {
-            entities.add(gameEntity);
-            return true;
+        CellStore store = pinStoreAt(pos.getRow(), pos.getCol());
+        try {
+            if (!store.add(store.localIndex(pos.getRow(), pos.getCol()), gameEntity)) {
+                return false;
+            }
+        } finally {
+            unpin(store);
         }
-        return false;
+        markDirty(pos.getRow(), pos.getCol());
+        return true;
     }
 
     /**
      * Removes a game entity from the grid at the specified position.
      * If the position is empty or the entity is not present, it returns false.
-     * If the last entity at that position is removed, it also removes the position from the grid.
      * @param pos the position where the entity should be removed
      * @param gameEntity the game entity to remove
      * @return true if the entity was removed, false if it was not present
      */
     public boolean removeFromGrid(Position pos, GameEntity gameEntity) {
-        List<GameEntity> entities = grid.get(pos);
-        if (entities == null || !entities.contains(gameEntity)) {
+        if (!isWithinBounds(pos)) {
             return false;
         }
-        entities.remove(gameEntity);
-        if (entities.isEmpty()) {
-            grid.remove(pos);
+        CellStore store = pinStoreAt(pos.getRow(), pos.getCol());
+        try {
+            if (!store.remove(store.localIndex(pos.getRow(), pos.getCol()), gameEntity)) {
+                return false;
+            }
+        } finally {
+            unpin(store);
         }
+        markDirty(pos.getRow(), pos.getCol());
         return true;
     }
 
+    /**
+     * Moves an entity from one cell to an empty cell as one step.
+     * Both cells are locked for the duration of the move, so no other mover can claim the
+     * destination or see the entity in both cells or in neither.
+     * @param gameEntity the entity to move
+     * @param from the cell the entity is in
+     * @param to the cell to move the entity to
+     * @return true if the entity moved, false if the destination was not empty,
+     *         the entity was no longer at from, or the cells could not be locked
+     */
+    public boolean tryMove(GameEntity gameEntity, Position from, Position to) {
+        return tryMove(gameEntity, from, to, PLAYER | ENEMY | ITEM | WALL);
+    }
+
+    /**
+     * Moves an entity from one cell to another as one step, unless the destination holds
+     * any of the given categories.
+     * The two cells are locked in increasing stripe order, so two movers can never wait on each other.
+     * A caller that already holds one of the cell locks does not wait for the other one;
+     * the move fails instead.
+     * The entity's position is updated as part of the move.
+     * @param gameEntity the entity to move
+     * @param from the cell the entity is in
+     * @param to the cell to move the entity to
+     * @param blockingCategories a bitwise OR of the categories that block the destination
+     * @return true if the entity moved, false if the destination was blocked,
+     *         the entity was no longer at from, or the cells could not be locked
+     */
+    public boolean tryMove(GameEntity gameEntity, Position from, Position to, int blockingCategories) {
+        if (!isWithinBounds(from) || !isWithinBounds(to) || from.equals(to)) {
+            return false;
+        }
+        int fromStripe = cellLocks.stripeOf(pack(from.getRow(), from.getCol()));
+        int toStripe = cellLocks.stripeOf(pack(to.getRow(), to.getCol()));
+        ReentrantLock first = cellLocks.lockAt(Math.min(fromStripe, toStripe));
+        ReentrantLock second = cellLocks.lockAt(Math.max(fromStripe, toStripe));
+        if (!lockBoth(first, second)) {
+            return false;
+        }
+        try {
+            if ((getCellFlags(to) & blockingCategories) != 0 || !removeFromGrid(from, gameEntity)) {
+                return false;
+            }
+            gameEntity.setPosition(to);
+            addToGrid(to, gameEntity);
+            return true;
+        } finally {
+            second.unlock();
+            first.unlock();
+        }
+    }
+
+    /**
+     * Gets the lock guarding moves into and out of a cell.
+     * Hold it to change a cell in several steps without a mover claiming the cell in between.
+     * Never wait for a second cell lock while holding one; use {@link #tryMove} instead.
+     * Locks are striped, so unrelated cells may share the same lock.
+     * @param pos the position of the cell
+     * @return the lock of the cell
+     */
+    public ReentrantLock getCellLock(Position pos) {
+        return getCellLock(pos.getRow(), pos.getCol());
+    }
+
+    /**
+     * Gets the lock guarding moves into and out of a cell, without going through a Position.
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @return the lock of the cell
+     */
+    public ReentrantLock getCellLock(int row, int col) {
+        return cellLocks.lockAt(cellLocks.stripeOf(pack(row, col)));
+    }
+
+    /**
+     * Returns the number of stripes the cell locks are spread over.
+     * @return the number of lock stripes
+     */
+    public int getLockStripeCount() {
+        return cellLocks.stripeCount();
+    }
+
+    /**
+     * Returns how often a thread found a lock stripe held by another thread.
+     * @param stripe the stripe index, between 0 and getLockStripeCount() - 1
+     * @return the number of contended acquisitions of the stripe
+     */
+    public long getLockContention(int stripe) {
+        return cellLocks.contentionAt(stripe);
+    }
+
+    /**
+     * Returns how often a thread found any cell lock held by another thread.
+     * @return the number of contended acquisitions across all stripes
+     */
+    public long getTotalLockContention() {
+        return cellLocks.totalContention();
+    }
+
     /**
      * Retrieves the list of game entities at the specified position.
+     * The returned list is a snapshot; changing it does not change the map.
      * If no entities are present at that position, it returns an empty list.
      * @param pos the position to check
      * @return a list of GameEntity objects at the specified position
      */
     public List<GameEntity> getEntitiesAt(Position pos) {
-        return grid.getOrDefault(pos, new ArrayList<>());
+        if (!isWithinBounds(pos)) {
+            return new ArrayList<>();
+        }
+        CellStore store = storeAt(pos.getRow(), pos.getCol());
+        return store.entitiesAt(store.localIndex(pos.getRow(), pos.getCol()));
     }
 
     /**
-     * Sets the internal grid representation of the game map.
+     * Replaces the contents of the game map with the given grid.
      * This method is typically used for testing or resetting the map.
      * @param grid a Map<Position, List<GameEntity>> representing the new grid
      */
     public void setGrid(Map<Position, List<GameEntity>> grid) {
-        this.grid = grid;
+        if (chunks != null) {
+            chunks.clear();
+        } else {
+            cells.clear();
+        }
+        for (Map.Entry<Position, List<GameEntity>> entry : grid.entrySet()) {
+            for (GameEntity entity : entry.getValue()) {
+                addToGrid(entry.getKey(), entity);
+            }
+        }
+        DirtyCells dirty = dirtyCells;
+        if (dirty != null) {
+            dirty.markAll();
+        }
+    }
+
+    /**
+     * Starts recording which cells change, for a renderer that only redraws changed cells.
+     * Adding and removing entities marks their cells; see {@link #drainDirtyCells}.
+     * Until this is called, the map records nothing and costs nothing extra.
+     */
+    public synchronized void enableDirtyTracking() {
+        if (dirtyCells == null) {
+            dirtyCells = new DirtyCells(DIRTY_CELL_CAPACITY);
+        }
+    }
+
+    /**
+     * Marks a cell as changed although no entity entered or left it, for instance because
+     * the health of an entity in it changed. Does nothing unless dirty tracking is enabled.
+     * @param pos the position of the cell
+     */
+    public void markDirty(Position pos) {
+        if (isWithinBounds(pos)) {
+            markDirty(pos.getRow(), pos.getCol());
+        }
+    }
+
+    /**
+     * Marks a cell as changed. Does nothing unless dirty tracking is enabled.
+     * @param row the row of a cell within the bounds of the map
+     * @param col the column of a cell within the bounds of the map
+     */
+    public void markDirty(int row, int col) {
+        DirtyCells dirty = dirtyCells;
+        if (dirty != null) {
+            dirty.mark(pack(row, col));
+        }
+    }
+
+    /**
+     * Passes every cell that changed since the last call to an action and forgets them.
+     * @param action receives the packed index of each changed cell (see {@link #rowOf} and {@link #colOf})
+     * @return true if the action saw every changed cell; false if too many cells changed to track
+     *         them one by one or dirty tracking is not enabled, in which case every cell must be
+     *         considered changed and the action is not called
+     */
+    public boolean drainDirtyCells(IntConsumer action) {
+        DirtyCells dirty = dirtyCells;
+        return dirty != null && dirty.drain(action);
     }
 
     /**
@@ -165,25 +517,312 @@ public class GameMap {
      * @return true if the position is within bounds, false otherwise
      */
     public boolean isWithinBounds(Position newPos) {
-        return newPos.getCol() >= 0 && newPos.getCol() < size &&
-                newPos.getRow() >= 0 && newPos.getRow() < size;
+        return isWithinBounds(newPos.getRow(), newPos.getCol());
     }
 
     /**
-     * Private constructor to enforce singleton pattern.
-     * Initializes the game map with the specified size.
-     * @param size the size of the game map (size x size)
+     * Checks if the specified row and column are within the bounds of the game map.
+     * @param row the row to check
+     * @param col the column to check
+     * @return true if the cell is within bounds, false otherwise
      */
-    private GameMap(int size) {
-        this.size = size;
+    public boolean isWithinBounds(int row, int col) {
+        return col >= 0 && col < size && row >= 0 && row < size;
+    }
+
+    /**
+     * Packs a row and column into a single int cell coordinate (row * size + col).
+     * Packed coordinates let hot paths address cells without allocating positions.
+     * @param row a row within the bounds of the map
+     * @param col a column within the bounds of the map
+     * @return the packed cell coordinate
+     */
+    public int pack(int row, int col) {
+        return row * size + col;
+    }
+
+    /**
+     * Returns the row of a packed cell coordinate.
+     * @param packed the packed cell coordinate
+     * @return the row of the cell
+     */
+    public int rowOf(int packed) {
+        return packed / size;
+    }
+
+    /**
+     * Returns the column of a packed cell coordinate.
+     * @param packed the packed cell coordinate
+     * @return the column of the cell
+     */
+    public int colOf(int packed) {
+        return packed % size;
+    }
+
+    /**
+     * Returns the position of a packed cell coordinate.
+     * @param packed the packed cell coordinate
+     * @return the position of the cell, shared when {@link Position#of(int, int)} shares it
+     */
+    public Position positionOf(int packed) {
+        return Position.of(rowOf(packed), colOf(packed));
+    }
+
+    /**
+     * Checks if the cell at a packed coordinate is empty.
+     * @param packed the packed cell coordinate
+     * @return true if the cell holds no entities, false otherwise
+     */
+    public boolean isEmpty(int packed) {
+        int row = rowOf(packed), col = colOf(packed);
+        CellStore store = storeAt(row, col);
+        return store.isEmpty(store.localIndex(row, col));
+    }
+
+    /**
+     * Returns the category flags of the cell at a packed coordinate.
+     * @param packed the packed cell coordinate
+     * @return the bitwise OR of the categories of the entities in the cell
+     */
+    public int getCellFlags(int packed) {
+        int row = rowOf(packed), col = colOf(packed);
+        CellStore store = storeAt(row, col);
+        return store.flags(store.localIndex(row, col));
+    }
+
+    /**
+     * Returns the number of entities in the cell at a packed coordinate.
+     * Together with {@link #getEntityAt(int, int)} this iterates a cell without allocating a list.
+     * @param packed the packed cell coordinate
+     * @return the number of entities in the cell
+     */
+    public int countAt(int packed) {
+        int row = rowOf(packed), col = colOf(packed);
+        CellStore store = storeAt(row, col);
+        return store.count(store.localIndex(row, col));
+    }
+
+    /**
+     * Returns one entity of the cell at a packed coordinate.
+     * If another thread removed entities from the cell after countAt was called,
+     * a slot past the new end of the cell yields null; use {@link #getEntitiesAt(Position)}
+     * when the whole cell must be seen at one point in time.
+     * @param packed the packed cell coordinate
+     * @param slot the index of the entity inside the cell, between 0 and countAt(packed) - 1
+     * @return the entity stored in that slot, or null if the cell has fewer entities
+     */
+    public GameEntity getEntityAt(int packed, int slot) {
+        int row = rowOf(packed), col = colOf(packed);
+        CellStore store = storeAt(row, col);
+        return store.get(store.localIndex(row, col), slot);
+    }
+
+    /**
+     * Returns the first entity of the first category in a list that the cell at a packed coordinate holds.
+     * The whole lookup reads one snapshot of the cell, so the entity returned was in the cell at one
+     * point in time, and no list is allocated.
+     * @param packed the packed cell coordinate
+     * @param categories category flags in order of preference, such as {PLAYER, ENEMY}
+     * @return the first entity belonging to the earliest category the cell holds, or null if it holds none
+     */
+    public GameEntity getFirstByCategory(int packed, int[] categories) {
+        int row = rowOf(packed), col = colOf(packed);
+        CellStore store = storeAt(row, col);
+        GameEntity[] entities = store.entities(store.localIndex(row, col));
+        for (int category : categories) {
+            for (GameEntity entity : entities) {
+                if ((categoryOf(entity) & category) != 0) {
+                    return entity;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the map is stored in chunks that are materialized on demand.
+     * @return true for a chunked map, false for a dense map
+     */
+    public boolean isChunked() {
+        return chunks != null;
+    }
+
+    /**
+     * Sets the listener that fills new chunks and follows chunks moving to and from disk.
+     * Must be set before the first cell of a chunked map is touched. Dense maps ignore it.
+     * @param listener the chunk listener, or null to stop following chunks
+     */
+    public void setChunkListener(ChunkListener listener) {
+        if (chunks != null) {
+            chunks.setListener(listener);
+        }
+    }
+
+    /**
+     * Returns the store holding a map cell.
+     * @param row the row of a cell within the bounds of the map
+     * @param col the column of a cell within the bounds of the map
+     * @return the dense store, or the chunk covering the cell for a chunked map
+     */
+    private CellStore storeAt(int row, int col) {
+        return chunks == null ? cells : chunks.chunkAt(row, col);
+    }
+
+    /**
+     * Returns the store holding a map cell, pinned for a write.
+     * A pinned chunk is not evicted until {@link #unpin} is called, so the write cannot be lost.
+     * @param row the row of a cell within the bounds of the map
+     * @param col the column of a cell within the bounds of the map
+     * @return the dense store, or the pinned chunk covering the cell for a chunked map
+     */
+    private CellStore pinStoreAt(int row, int col) {
+        return chunks == null ? cells : chunks.pinChunkAt(row, col);
+    }
+
+    /**
+     * Releases a store returned by {@link #pinStoreAt}.
+     * @param store the store that was written to
+     */
+    private void unpin(CellStore store) {
+        if (chunks != null) {
+            store.unpin();
+        }
+    }
+
+    /**
+     * Returns the first entity of a type in a cell.
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @param mask the category flags the cell must hold, or 0 to look at every non-empty cell
+     * @param type the class of the entity to return
+     * @param <T> the type of the entity to return
+     * @return the first matching entity, or null if the cell is outside the map or holds none
+     */
+    private <T extends GameEntity> T firstOfType(int row, int col, int mask, Class<T> type) {
+        if (!isWithinBounds(row, col)) {
+            return null;
+        }
+        CellStore store = storeAt(row, col);
+        int cell = store.localIndex(row, col);
+        if (mask != 0 && (store.flags(cell) & mask) == 0) {
+            return null;
+        }
+        for (GameEntity entity : store.entities(cell)) {
+            if (type.isInstance(entity)) {
+                return type.cast(entity);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Locks two cell locks that are given in increasing stripe order.
+     * Both may be the same lock, which is then held twice.
+     * If the current thread already holds one of them, waiting could deadlock against a
+     * thread locking in order, so both locks are only tried.
+     * @param first the lock of the lower stripe
+     * @param second the lock of the higher stripe
+     * @return true if both locks are now held, false if neither is
+     */
+    private static boolean lockBoth(ReentrantLock first, ReentrantLock second) {
+        if (!first.isHeldByCurrentThread() && !second.isHeldByCurrentThread()) {
+            first.lock();
+            second.lock();
+            return true;
+        }
+        if (!first.tryLock()) {
+            return false;
+        }
+        if (!second.tryLock()) {
+            first.unlock();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the category flags every instance of a type carries.
+     * @param type the class to classify
+     * @return the category of the type, or 0 if instances of the type may belong to any category
+     */
+    private static int categoryMaskOf(Class<?> type) {
+        if (PlayerCharacter.class.isAssignableFrom(type)) return PLAYER;
+        if (Enemy.class.isAssignableFrom(type)) return ENEMY;
+        if (Wall.class.isAssignableFrom(type)) return WALL;
+        if (GameItem.class.isAssignableFrom(type)) return ITEM;
+        return 0;
+    }
+
+    /**
+     * Returns the stores whose cells are currently in memory.
+     * @return the dense store, or the resident chunks for a chunked map
+     */
+    private List<CellStore> stores() {
+        return chunks == null ? List.of(cells) : chunks.residentChunks();
+    }
+
+    /**
+     * Counts the empty cells of the given stores.
+     * @param stores the stores to count
+     * @return the total number of empty cells
+     */
+    private static int countFree(List<CellStore> stores) {
+        int free = 0;
+        for (CellStore store : stores) {
+            free += store.freeCount();
+        }
+        return free;
+    }
+
+    /**
+     * Returns the n-th empty cell across the given stores.
+     * @param stores the stores to walk
+     * @param n the index of the empty cell, between 0 and countFree(stores) - 1
+     * @return the position of that empty cell, or null if other threads filled cells in the meantime
+     */
+    private static Position freePosition(List<CellStore> stores, int n) {
+        for (CellStore store : stores) {
+            int free = store.freeCount();
+            if (n < free) {
+                int cell = store.freeCell(n);
+                return cell == -1 ? null : Position.of(store.rowOf(cell), store.colOf(cell));
+            }
+            n -= free;
+        }
+        return null;
     }
 
     // --- Fields ---
-    private static GameMap instance = null;
-    private Map<Position, List<GameEntity>> grid = new HashMap<>();
+    public static final int PLAYER = 1;
+    public static final int ENEMY = 1 << 1;
+    public static final int ITEM = 1 << 2;
+    public static final int WALL = 1 << 3;
+    static final int DENSE_MAP_LIMIT = 512;
+    private static final int CHUNK_SIZE = 64;
+    private static final int MAX_RESIDENT_CHUNKS = 256;
+    private static final int FILTERED_SAMPLE_TRIES = 16;
+    private static final int DEFAULT_LOCK_STRIPES = 1024;
+    private static final int DIRTY_CELL_CAPACITY = 4096;
+    private final CellStore cells;
+    private final ChunkTable chunks;
+    private final StripedLockTable cellLocks;
     private final int size;
+    private volatile DirtyCells dirtyCells;
 
+    /**
+     * Returns a snapshot of the non-empty cells of the map.
+     * @return a Map<Position, List<GameEntity>> holding the entities of every occupied cell
+     */
     public Map<Position, List<GameEntity>> getGrid() {
+        Map<Position, List<GameEntity>> grid = new HashMap<>();
+        for (CellStore store : stores()) {
+            for (int cell = 0; cell < store.cellCount(); cell++) {
+                List<GameEntity> entities = store.entitiesAt(cell);
+                if (!entities.isEmpty()) {
+                    grid.put(Position.of(store.rowOf(cell), store.colOf(cell)), entities);
+                }
+            }
+        }
         return grid;
     }
 }
\ No newline at end of file
@@ -1,10 +1,54 @@
 package game.map;
+import java.io.Serializable;
 
 /**
  * Represents a position on the game map, identified by its row and column.
  * The position can be used to calculate distances and check equality between positions.
+ * Positions are immutable, so the canonical instances returned by {@link #of(int, int)}
+ * can be shared freely instead of allocating a new position on every call.
+ * The shared table grows with the largest map created so far and covers every densely stored map,
+ * so there equal positions are the same instance. Chunked maps are wider than the table,
+ * and positions beyond it must be compared with {@link #equals(Object)}.
  */
-public class Position {
+public class Position implements Serializable {
+
+    /**
+     * Returns the canonical position for the specified row and column.
+     * Coordinates covered by the shared table return the same instance on every call;
+     * other coordinates fall back to a new position, so callers must not rely on identity.
+     * @param row the row of the position
+     * @param col the column of the position
+     * @return the position with the specified row and column
+     */
+    public static Position of(int row, int col) {
+        Position[][] table = canonical;
+        if (row >= 0 && row < table.length && col >= 0 && col < table.length) {
+            return table[row][col];
+        }
+        return new Position(row, col);
+    }
+
+    /**
+     * Makes sure the shared table holds canonical positions for a size x size map.
+     * Existing canonical instances are kept, so positions handed out earlier stay canonical.
+     * The table never grows beyond the widest densely stored map, since a chunked map would need
+     * a canonical position for every one of its cells while only a few chunks are resident.
+     * @param size the size of the map whose positions should be canonical
+     */
+    public static synchronized void reserve(int size) {
+        Position[][] old = canonical;
+        int width = Math.min(size, MAX_CANONICAL_SIZE);
+        if (width <= old.length) {
+            return;
+        }
+        Position[][] table = new Position[width][width];
+        for (int r = 0; r < width; r++) {
+            for (int c = 0; c < width; c++) {
+                table[r][c] = (r < old.length && c < old.length) ? old[r][c] : new Position(r, c);
+            }
+        }
+        canonical = table;
+    }
 
     /**
      * Constructs a position with the specified row and column.
@@ -95,9 +139,20 @@ public class Position {
      */
     @Override
     public int hashCode() {
-        return java.util.Objects.hash(row, col);
+        return 31 * row + col;
+    }
+
+    /**
+     * Replaces a deserialized position with its canonical instance.
+     * @return the shared Position with the same row and column
+     */
+    private Object readResolve() {
+        return of(row, col);
     }
 
     // --- Fields ---
-    private int row, col;
+    private static final long serialVersionUID = 1L;
+    private static final int MAX_CANONICAL_SIZE = GameMap.DENSE_MAP_LIMIT;
+    private static volatile Position[][] canonical = new Position[0][0];
+    private final int row, col;
 }
@@ -0,0 +1,119 @@
+package game.map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-size table of locks guarding the cells of a game map.
+ * Instead of one lock per cell, every cell is hashed from its packed coordinates onto one of
+ * a fixed number of stripes, so memory stays bounded no matter how many cells are ever locked
+ * and looking up a lock never allocates or hashes a Position.
+ * Distinct cells may share a stripe; callers that lock two cells must order them by
+ * {@link #stripeOf(int)}, not by cell, and expect both cells to map to the same lock.
+ * Every stripe counts how often a thread found it held by another thread.
+ */
+final class StripedLockTable {
+
+    /**
+     * Constructs a table with the given number of stripes, rounded up to a power of two.
+     * @param stripeCount the minimum number of stripes
+     * @throws IllegalArgumentException if stripeCount is not positive or too large
+     */
+    StripedLockTable(int stripeCount) {
+        if (stripeCount <= 0 || stripeCount > MAX_STRIPES) {
+            throw new IllegalArgumentException("Stripe count out of range: " + stripeCount);
+        }
+        this.shift = Integer.numberOfLeadingZeros(stripeCount - 1);
+        this.stripes = new StripeLock[stripeCount == 1 ? 1 : 1 << (32 - shift)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new StripeLock();
+        }
+    }
+
+    /**
+     * Returns the stripe of a cell.
+     * Packed cells are spread with Fibonacci hashing, so neighbouring cells and cells of the
+     * same column land on different stripes whatever the map size.
+     * @param packed the packed index of the cell (see {@link GameMap#pack})
+     * @return the index of the stripe guarding the cell
+     */
+    int stripeOf(int packed) {
+        return stripes.length == 1 ? 0 : (packed * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Returns the lock of a stripe.
+     * @param stripe the stripe index, between 0 and stripeCount() - 1
+     * @return the lock of the stripe
+     */
+    ReentrantLock lockAt(int stripe) {
+        return stripes[stripe];
+    }
+
+    /**
+     * Returns the number of stripes in the table.
+     * @return the stripe count, a power of two
+     */
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Returns how often a thread found a stripe held by another thread.
+     * @param stripe the stripe index, between 0 and stripeCount() - 1
+     * @return the number of contended lock and tryLock calls on the stripe
+     */
+    long contentionAt(int stripe) {
+        return stripes[stripe].contended.get();
+    }
+
+    /**
+     * Returns how often a thread found any stripe held by another thread.
+     * @return the sum of the contention counts of every stripe
+     */
+    long totalContention() {
+        long total = 0;
+        for (StripeLock stripe : stripes) {
+            total += stripe.contended.get();
+        }
+        return total;
+    }
+
+    /**
+     * Reentrant lock that counts the calls that could not take it right away.
+     */
+    private static final class StripeLock extends ReentrantLock {
+
+        /**
+         * Acquires the lock, counting the call as contended if it has to wait.
+         */
+        @Override
+        public void lock() {
+            if (!super.tryLock()) {
+                contended.incrementAndGet();
+                super.lock();
+            }
+        }
+
+        /**
+         * Acquires the lock only if it is free, counting a failure as contended.
+         * @return true if the lock was acquired, false otherwise
+         */
+        @Override
+        public boolean tryLock() {
+            if (super.tryLock()) {
+                return true;
+            }
+            contended.incrementAndGet();
+            return false;
+        }
+
+        // --- Fields ---
+        private static final long serialVersionUID = 1L;
+        private final AtomicLong contended = new AtomicLong();
+    }
+
+    // --- Fields ---
+    private static final int MAX_STRIPES = 1 << 20;
+    private final StripeLock[] stripes;
+    private final int shift;
+}
@@ -0,0 +1,93 @@
+package game.map;
+import java.util.Arrays;
+
+/**
+ * Immutable set of the map cells within a Manhattan radius of a center cell.
+ * The cells are computed once, in row-major order, so a renderer can iterate exactly
+ * the visible cells instead of testing every cell of the map. Membership checks
+ * are answered arithmetically and never allocate.
+ */
+public final class VisibleCells {
+
+    /**
+     * Computes the cells of the map within the given radius of a center position.
+     * Cells outside the map are left out.
+     * @param map the map the cells belong to
+     * @param center the center of the visible area
+     * @param radius the maximum Manhattan distance from center
+     */
+    public VisibleCells(GameMap map, Position center, int radius) {
+        this.mapSize = map.getSize();
+        this.centerRow = center.getRow();
+        this.centerCol = center.getCol();
+        this.radius = radius;
+
+        int[] found = new int[(2 * radius + 1) * (2 * radius + 1)];
+        int n = 0;
+        int firstRow = Math.max(0, centerRow - radius);
+        int lastRow = Math.min(mapSize - 1, centerRow + radius);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int span = radius - Math.abs(row - centerRow);
+            int firstCol = Math.max(0, centerCol - span);
+            int lastCol = Math.min(mapSize - 1, centerCol + span);
+            for (int col = firstCol; col <= lastCol; col++) {
+                found[n++] = map.pack(row, col);
+            }
+        }
+        this.cells = Arrays.copyOf(found, n);
+    }
+
+    /**
+     * Checks whether a cell is visible.
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @return true if the cell is inside the map and within the radius, false otherwise
+     */
+    public boolean contains(int row, int col) {
+        if (row < 0 || row >= mapSize || col < 0 || col >= mapSize) {
+            return false;
+        }
+        return Math.abs(row - centerRow) + Math.abs(col - centerCol) <= radius;
+    }
+
+    /**
+     * Returns the number of visible cells.
+     * @return the number of cells in the set
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * Returns the row of a visible cell.
+     * @param i the index of the cell, between 0 and size() - 1
+     * @return the row of the cell
+     */
+    public int getRow(int i) {
+        return cells[i] / mapSize;
+    }
+
+    /**
+     * Returns the column of a visible cell.
+     * @param i the index of the cell, between 0 and size() - 1
+     * @return the column of the cell
+     */
+    public int getCol(int i) {
+        return cells[i] % mapSize;
+    }
+
+    /**
+     * Returns the radius of the visible area.
+     * @return the maximum Manhattan distance from the center
+     */
+    public int getRadius() {
+        return radius;
+    }
+
+    // --- Fields ---
+    private final int[] cells;
+    private final int mapSize;
+    private final int centerRow;
+    private final int centerCol;
+    private final int radius;
+}
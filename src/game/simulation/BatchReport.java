@@ -0,0 +1,165 @@
+package game.simulation;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregate results and throughput of a batch of headless games.
+ */
+public class BatchReport {
+
+    /**
+     * Aggregates the results of a batch.
+     * @param results      The results of every game of the batch.
+     * @param elapsedNanos The wall-clock time the whole batch took, in nanoseconds.
+     * @param parallelism  The number of games that were run at once.
+     */
+    public BatchReport(List<GameResult> results, long elapsedNanos, int parallelism) {
+        this.games = results.size();
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+        for (GameOutcome outcome : GameOutcome.values()) {
+            outcomes.put(outcome, 0);
+        }
+        for (GameResult result : results) {
+            outcomes.merge(result.getOutcome(), 1, Integer::sum);
+            totalTicks += result.getTicks();
+            totalTreasurePoints += result.getTreasurePoints();
+            totalEnemiesKilled += result.getEnemiesKilled();
+            maxGameNanos = Math.max(maxGameNanos, result.getNanos());
+            totalGameNanos += result.getNanos();
+        }
+    }
+
+    /**
+     * Gets the number of games in the batch.
+     * @return The game count.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games that ended a given way.
+     * @param outcome The outcome to count.
+     * @return The number of games with that outcome.
+     */
+    public int getCount(GameOutcome outcome) {
+        return outcomes.get(outcome);
+    }
+
+    /**
+     * Gets the share of games the player won.
+     * @return The win rate between 0 and 1, or 0 for an empty batch.
+     */
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) getCount(GameOutcome.WON) / games;
+    }
+
+    /**
+     * Gets the total number of ticks played across all games.
+     * @return The tick count.
+     */
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Gets the average number of ticks a game lasted.
+     * @return The mean game length in ticks.
+     */
+    public double getMeanTicks() {
+        return games == 0 ? 0 : (double) totalTicks / games;
+    }
+
+    /**
+     * Gets the average treasure points collected per game.
+     * @return The mean treasure points.
+     */
+    public double getMeanTreasurePoints() {
+        return games == 0 ? 0 : (double) totalTreasurePoints / games;
+    }
+
+    /**
+     * Gets the average number of enemies defeated per game.
+     * @return The mean kill count.
+     */
+    public double getMeanEnemiesKilled() {
+        return games == 0 ? 0 : (double) totalEnemiesKilled / games;
+    }
+
+    /**
+     * Gets the wall-clock time the batch took.
+     * @return The duration in milliseconds.
+     */
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the average wall-clock time of one game.
+     * @return The mean game duration in milliseconds.
+     */
+    public double getMeanGameMillis() {
+        return games == 0 ? 0 : totalGameNanos / 1_000_000.0 / games;
+    }
+
+    /**
+     * Gets the wall-clock time of the slowest game.
+     * @return The longest game duration in milliseconds.
+     */
+    public double getMaxGameMillis() {
+        return maxGameNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets how many games finished per second of wall-clock time.
+     * @return The game throughput.
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets how many world ticks ran per second of wall-clock time, across all games.
+     * @return The tick throughput.
+     */
+    public double getTicksPerSecond() {
+        return elapsedNanos == 0 ? 0 : totalTicks * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the number of games that were run at once.
+     * @return The parallelism of the batch.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns a readable summary of the batch.
+     * @return A multi-line summary of outcomes, averages and throughput.
+     */
+    @Override
+    public String toString() {
+        return String.format("Games: %d (%d at once) in %.1f ms%n", games, parallelism, getElapsedMillis())
+                + String.format("Outcomes: won %d, lost %d, timed out %d, failed %d (win rate %.1f%%)%n",
+                        getCount(GameOutcome.WON), getCount(GameOutcome.LOST), getCount(GameOutcome.TIMED_OUT),
+                        getCount(GameOutcome.FAILED), getWinRate() * 100)
+                + String.format("Per game: %.1f ticks, %.1f treasure points, %.2f enemies killed, %.2f ms (max %.2f ms)%n",
+                        getMeanTicks(), getMeanTreasurePoints(), getMeanEnemiesKilled(), getMeanGameMillis(), getMaxGameMillis())
+                + String.format("Throughput: %.1f games/s, %.0f ticks/s", getGamesPerSecond(), getTicksPerSecond());
+    }
+
+    // --- Fields ---
+    private final int games;
+    private final long elapsedNanos;
+    private final int parallelism;
+    private final Map<GameOutcome, Integer> outcomes = new EnumMap<>(GameOutcome.class);
+    private long totalTicks;
+    private long totalTreasurePoints;
+    private long totalEnemiesKilled;
+    private long totalGameNanos;
+    private long maxGameNanos;
+}
@@ -0,0 +1,124 @@
+package game.simulation;
+
+import game.engine.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs many headless games concurrently and aggregates their results.
+ * Every game runs start to finish on one thread of a fixed pool, so the number of threads
+ * stays at the chosen parallelism however many games the batch holds.
+ * Used for balance testing and capacity planning; see {@link #main(String[])} for the command line.
+ */
+public class BatchRunner {
+
+    /**
+     * Constructs a batch runner.
+     * @param config      The parameters of every game.
+     * @param parallelism The number of games to run at once.
+     * @throws IllegalArgumentException if the parallelism is not positive.
+     */
+    public BatchRunner(SimulationConfig config, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.config = config;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Plays a number of games with a random seed and waits for all of them.
+     * @param games The number of games to play.
+     * @return The aggregate report of the batch.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public BatchReport run(int games) throws InterruptedException {
+        return run(games, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Plays a number of games and waits for all of them.
+     * Every game gets its own seed drawn from the batch seed, so the same batch seed reproduces
+     * the same games whatever the parallelism.
+     * A game that fails with an exception is reported as FAILED and does not stop the batch.
+     * @param games The number of games to play.
+     * @param seed  The seed the games' seeds are drawn from.
+     * @return The aggregate report of the batch.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public BatchReport run(int games, long seed) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "batch-game");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        try {
+            SplittableRandom seeds = new SplittableRandom(seed);
+            List<Future<GameResult>> futures = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                long gameSeed = seeds.nextLong();
+                futures.add(pool.submit(() -> new HeadlessGame(config, gameSeed).play()));
+            }
+            List<GameResult> results = new ArrayList<>(games);
+            for (Future<GameResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    System.err.println("Simulated game failed: " + e.getCause());
+                    results.add(new GameResult(GameOutcome.FAILED, 0, 0, 0, 0, 0));
+                }
+            }
+            return new BatchReport(results, System.nanoTime() - start, parallelism);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs a batch from the command line and prints its report.
+     * Arguments, all optional and in order: number of games (1000), map size (20),
+     * parallelism (available processors), policy ("greedy" or "random"), tick limit (2000), seed (random),
+     * execution mode ("serial" or "sweep", default "serial").
+     * The player is a Warrior with 100 Health, 10 Power and 5 Defence.
+     * @param args The command-line arguments.
+     * @throws InterruptedException if interrupted while waiting for the batch.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int mapSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAP_SIZE;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        String policyName = args.length > 3 ? args[3] : "greedy";
+        int maxTicks = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_MAX_TICKS;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : ThreadLocalRandom.current().nextLong();
+        ExecutionMode mode = args.length > 6 ? ExecutionMode.valueOf(args[6].toUpperCase()) : ExecutionMode.SERIAL;
+
+        Supplier<PlayerPolicy> policy = switch (policyName.toLowerCase()) {
+            case "greedy" -> GreedyPolicy::new;
+            case "random" -> RandomWalkPolicy::new;
+            default -> throw new IllegalArgumentException("Unknown policy: " + policyName);
+        };
+        Map<String, Integer> attributes = Map.of("Health", 100, "Power", 10, "Defence", 5);
+        SimulationConfig config = new SimulationConfig(mapSize, WARRIOR, attributes, null, List.of(), maxTicks, policy, mode);
+
+        System.out.println("Seed: " + seed);
+        System.out.println(new BatchRunner(config, parallelism).run(games, seed));
+    }
+
+    // --- Fields ---
+    private static final int DEFAULT_GAMES = 1000;
+    private static final int DEFAULT_MAP_SIZE = 20;
+    private static final int DEFAULT_MAX_TICKS = 2000;
+    private static final int WARRIOR = 3;
+    private final SimulationConfig config;
+    private final int parallelism;
+}
@@ -0,0 +1,23 @@
+package game.simulation;
+
+/**
+ * Represents how a headless game ended.
+ */
+public enum GameOutcome {
+        /**
+         * The player collected enough treasure to win.
+         */
+        WON,
+        /**
+         * The player died.
+         */
+        LOST,
+        /**
+         * The game reached its tick limit before either happened.
+         */
+        TIMED_OUT,
+        /**
+         * The game stopped because of an unexpected error.
+         */
+        FAILED;
+}
@@ -0,0 +1,81 @@
+package game.simulation;
+
+/**
+ * Result of one headless game.
+ */
+public class GameResult {
+
+    /**
+     * Constructs a game result.
+     * @param outcome        How the game ended.
+     * @param ticks          The number of ticks played.
+     * @param treasurePoints The treasure points the player collected.
+     * @param playerHealth   The player's health at the end.
+     * @param enemiesKilled  The number of enemies the player defeated.
+     * @param nanos          The wall-clock time the game took, in nanoseconds.
+     */
+    public GameResult(GameOutcome outcome, int ticks, int treasurePoints, int playerHealth, int enemiesKilled, long nanos) {
+        this.outcome = outcome;
+        this.ticks = ticks;
+        this.treasurePoints = treasurePoints;
+        this.playerHealth = playerHealth;
+        this.enemiesKilled = enemiesKilled;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Gets how the game ended.
+     * @return The outcome.
+     */
+    public GameOutcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Gets the number of ticks played.
+     * @return The tick count.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the treasure points the player collected.
+     * @return The treasure points.
+     */
+    public int getTreasurePoints() {
+        return treasurePoints;
+    }
+
+    /**
+     * Gets the player's health at the end of the game.
+     * @return The health.
+     */
+    public int getPlayerHealth() {
+        return playerHealth;
+    }
+
+    /**
+     * Gets the number of enemies the player defeated.
+     * @return The kill count.
+     */
+    public int getEnemiesKilled() {
+        return enemiesKilled;
+    }
+
+    /**
+     * Gets the wall-clock time the game took.
+     * @return The duration in nanoseconds.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    // --- Fields ---
+    private final GameOutcome outcome;
+    private final int ticks;
+    private final int treasurePoints;
+    private final int playerHealth;
+    private final int enemiesKilled;
+    private final long nanos;
+}
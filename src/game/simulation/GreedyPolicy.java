@@ -0,0 +1,93 @@
+package game.simulation;
+
+import game.characters.Enemy;
+import game.engine.GameWorld;
+import game.items.GameItem;
+import game.items.Interactable;
+import game.map.GameMap;
+import game.map.Position;
+
+/**
+ * Player policy that heads for the nearest item it can collect and fights enemies on the way.
+ * While the player's health is below the retreat threshold, it avoids enemies and only
+ * looks for items. When nothing is in sight it walks randomly.
+ */
+public class GreedyPolicy implements PlayerPolicy {
+
+    /**
+     * Constructs a greedy policy.
+     * @param sightRadius       How far the policy looks for items and enemies, in cells.
+     * @param retreatHealthRate The share of maximum health below which enemies are avoided, between 0 and 1.
+     */
+    public GreedyPolicy(int sightRadius, double retreatHealthRate) {
+        this.sightRadius = sightRadius;
+        this.retreatHealthRate = retreatHealthRate;
+    }
+
+    /**
+     * Constructs a greedy policy that looks 10 cells around and avoids enemies below 30% health.
+     */
+    public GreedyPolicy() {
+        this(DEFAULT_SIGHT_RADIUS, DEFAULT_RETREAT_HEALTH_RATE);
+    }
+
+    /**
+     * Chooses a step towards the nearest collectable item, or the nearest enemy if no item is in sight.
+     * @param world The world being played.
+     * @return The next cell towards the target, or a random neighbour if there is no target.
+     */
+    @Override
+    public Position chooseTarget(GameWorld world) {
+        GameMap map = world.getMap();
+        Position pos = world.getPlayer().getPosition();
+        boolean healthy = world.getPlayer().getHealth() >= world.getPlayer().getMaxHealth() * retreatHealthRate;
+
+        Enemy adjacent = map.findNearest(pos, 1, Enemy.class);
+        if (adjacent != null && healthy) {
+            return adjacent.getPosition();
+        }
+        for (GameItem item : map.getEntitiesWithin(pos, sightRadius, GameItem.class)) {
+            if (item instanceof Interactable) {
+                return stepTowards(map, pos, item.getPosition(), healthy);
+            }
+        }
+        if (healthy) {
+            Enemy enemy = map.findNearest(pos, sightRadius, Enemy.class);
+            if (enemy != null) {
+                return stepTowards(map, pos, enemy.getPosition(), true);
+            }
+        }
+        return wander.chooseTarget(world);
+    }
+
+    /**
+     * Picks the neighbouring cell that brings the player closer to a target,
+     * trying the row first and the column second, and skipping walls and, unless allowed, enemies.
+     * @param map            The map being played.
+     * @param from           The player's position.
+     * @param to             The target position.
+     * @param enemiesAllowed Whether the step may lead into an enemy, which starts a fight.
+     * @return The next cell, or null if both directions are blocked.
+     */
+    private static Position stepTowards(GameMap map, Position from, Position to, boolean enemiesAllowed) {
+        int blocking = enemiesAllowed ? GameMap.WALL : GameMap.WALL | GameMap.ENEMY;
+        int rowStep = Integer.signum(to.getRow() - from.getRow());
+        int colStep = Integer.signum(to.getCol() - from.getCol());
+        if (rowStep != 0) {
+            Position next = Position.of(from.getRow() + rowStep, from.getCol());
+            if (!map.hasAny(next, blocking)) return next;
+        }
+        if (colStep != 0) {
+            Position next = Position.of(from.getRow(), from.getCol() + colStep);
+            if (!map.hasAny(next, blocking)) return next;
+        }
+        return null;
+    }
+
+    // --- Fields ---
+    private static final int DEFAULT_SIGHT_RADIUS = 10;
+    private static final double DEFAULT_RETREAT_HEALTH_RATE = 0.3;
+    private final int sightRadius;
+    private final double retreatHealthRate;
+    private final RandomWalkPolicy wander = new RandomWalkPolicy();
+}
@@ -0,0 +1,111 @@
+package game.simulation;
+
+import game.characters.Enemy;
+import game.characters.PlayerCharacter;
+import game.core.GameRandom;
+import game.engine.ExecutionMode;
+import game.engine.GameWorld;
+import game.map.GameMap;
+import game.map.Position;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * One game played without a window or a human.
+ * The world runs in the configured mode, {@link ExecutionMode#SERIAL} or {@link ExecutionMode#SWEEP},
+ * and is stepped by the calling thread as fast as it can go: every tick the policy takes the player's turn,
+ * then every enemy takes its turn.
+ * The game ends when the player wins, dies or runs out of ticks.
+ */
+public class HeadlessGame {
+
+    /**
+     * Constructs a game from a configuration. The world is built when the game is played.
+     * Two games with the same configuration and seed play out the same way.
+     * @param config The parameters of the game.
+     * @param seed   The seed of the world's random source, which also drives the policy.
+     */
+    public HeadlessGame(SimulationConfig config, long seed) {
+        this.config = config;
+        this.seed = seed;
+    }
+
+    /**
+     * Builds the world, plays it to the end and releases it.
+     * @return The result of the game.
+     */
+    public GameResult play() {
+        long start = System.nanoTime();
+        GameWorld world = new GameWorld(config.getMapSize(), config.getPlayerType(), PLAYER_NAME,
+                config.getAttributes(), config.getElement(), config.getDecorators(), config.getExecutionMode(), seed);
+        RandomGenerator previous = GameRandom.bind(world.splitRandom());
+        try {
+            PlayerPolicy policy = config.createPolicy();
+            GameOutcome outcome = null;
+            int ticks = 0;
+            while (outcome == null && ticks < config.getMaxTicks()) {
+                playTurn(world, policy.chooseTarget(world));
+                world.step();
+                ticks++;
+                outcome = outcomeOf(world.getPlayer());
+            }
+            if (outcome == null) {
+                outcome = GameOutcome.TIMED_OUT;
+            }
+            PlayerCharacter player = world.getPlayer();
+            return new GameResult(outcome, ticks, player.getTreasurePoints(), player.getHealth(),
+                    enemiesKilled, System.nanoTime() - start);
+        } finally {
+            GameRandom.bind(previous);
+            world.shutdown();
+        }
+    }
+
+    /**
+     * Acts on a cell for the player, with the same rules as a left-click in the game window:
+     * an empty cell is moved into, an enemy is fought and an item is picked up and stepped on.
+     * @param world  The world being played.
+     * @param target The cell chosen by the policy, or null to stay put.
+     */
+    private void playTurn(GameWorld world, Position target) {
+        PlayerCharacter player = world.getPlayer();
+        player.update(); // Health regeneration, as on every click
+        if (target == null || !world.isValidMove(player.getPosition(), target)) {
+            return;
+        }
+        GameMap map = world.getMap();
+        if (map.isEmpty(target)) {
+            world.movePlayerTo(target);
+        } else if (map.hasAny(target, GameMap.ENEMY)) {
+            Enemy enemy = map.findNearest(target, 0, Enemy.class);
+            world.fightEnemyAt(target);
+            if (enemy != null && enemy.isDead()) {
+                enemiesKilled++;
+            }
+        } else if (map.hasAny(target, GameMap.ITEM)) {
+            world.pickUpItemAt(target);
+            world.movePlayerTo(target);
+        }
+    }
+
+    /**
+     * Checks whether the game is over.
+     * @param player The player character.
+     * @return LOST or WON if the game is over, null otherwise.
+     */
+    private static GameOutcome outcomeOf(PlayerCharacter player) {
+        if (player.isDead()) {
+            return GameOutcome.LOST;
+        }
+        if (player.getTreasurePoints() >= GameWorld.VICTORY_TREASURE_POINTS) {
+            return GameOutcome.WON;
+        }
+        return null;
+    }
+
+    // --- Fields ---
+    private static final String PLAYER_NAME = "Simulated";
+    private final SimulationConfig config;
+    private final long seed;
+    private int enemiesKilled;
+}
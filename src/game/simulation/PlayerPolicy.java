@@ -0,0 +1,19 @@
+package game.simulation;
+
+import game.engine.GameWorld;
+import game.map.Position;
+
+/**
+ * Strategy that plays the player character of a headless game.
+ * Once per tick the policy picks the cell the player acts on, exactly like a left-click:
+ * an empty cell is moved into, an enemy is fought and an item is picked up.
+ */
+public interface PlayerPolicy {
+
+    /**
+     * Chooses the player's action for this tick.
+     * @param world The world being played.
+     * @return A cell next to the player to act on, or null to stay put.
+     */
+    Position chooseTarget(GameWorld world);
+}
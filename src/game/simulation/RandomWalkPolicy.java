@@ -0,0 +1,27 @@
+package game.simulation;
+
+import game.core.GameRandom;
+import game.engine.GameWorld;
+import game.map.Position;
+
+/**
+ * Player policy that acts on a random neighbouring cell every tick.
+ * Serves as a baseline for balance testing. Draws from the game's random source, so a seeded game replays the same walk.
+ */
+public class RandomWalkPolicy implements PlayerPolicy {
+
+    /**
+     * Picks one of the four neighbouring cells at random.
+     * @param world The world being played.
+     * @return A random neighbouring cell, which may lie outside the map.
+     */
+    @Override
+    public Position chooseTarget(GameWorld world) {
+        Position pos = world.getPlayer().getPosition();
+        int[] dir = DIRECTIONS[GameRandom.current().nextInt(DIRECTIONS.length)];
+        return Position.of(pos.getRow() + dir[0], pos.getCol() + dir[1]);
+    }
+
+    // --- Fields ---
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+}
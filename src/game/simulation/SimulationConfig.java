@@ -0,0 +1,141 @@
+package game.simulation;
+
+import game.combat.MagicElement;
+import game.engine.ExecutionMode;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Parameters of the games of a batch: what world to build, which player to create,
+ * how the player is played and how long a game may last.
+ * Every game gets its own policy from the policy factory, so policies may keep state.
+ */
+public class SimulationConfig {
+
+    /**
+     * Constructs a simulation configuration whose worlds run in {@link ExecutionMode#SERIAL} mode.
+     * @param mapSize       The size of the map of every game (size x size).
+     * @param playerType    The type of player character (1 for Archer, 2 for Mage, 3 for Warrior).
+     * @param attributes    The Health, Power and Defence attributes of the player.
+     * @param element       The magic element of a Mage, or null.
+     * @param decorators    The names of the decorators to apply to the player.
+     * @param maxTicks      The number of ticks after which a game is stopped as timed out.
+     * @param policyFactory Creates the policy that plays each game.
+     * @throws IllegalArgumentException if the map size or the tick limit is not positive.
+     */
+    public SimulationConfig(int mapSize, int playerType, Map<String, Integer> attributes, MagicElement element,
+                            List<String> decorators, int maxTicks, Supplier<PlayerPolicy> policyFactory) {
+        this(mapSize, playerType, attributes, element, decorators, maxTicks, policyFactory, ExecutionMode.SERIAL);
+    }
+
+    /**
+     * Constructs a simulation configuration.
+     * @param mapSize       The size of the map of every game (size x size).
+     * @param playerType    The type of player character (1 for Archer, 2 for Mage, 3 for Warrior).
+     * @param attributes    The Health, Power and Defence attributes of the player.
+     * @param element       The magic element of a Mage, or null.
+     * @param decorators    The names of the decorators to apply to the player.
+     * @param maxTicks      The number of ticks after which a game is stopped as timed out.
+     * @param policyFactory Creates the policy that plays each game.
+     * @param executionMode How the enemies of every game are run; {@link ExecutionMode#SERIAL} or {@link ExecutionMode#SWEEP}.
+     * @throws IllegalArgumentException if the map size or the tick limit is not positive,
+     *         or the execution mode runs threads of its own.
+     */
+    public SimulationConfig(int mapSize, int playerType, Map<String, Integer> attributes, MagicElement element,
+                            List<String> decorators, int maxTicks, Supplier<PlayerPolicy> policyFactory,
+                            ExecutionMode executionMode) {
+        if (mapSize <= 0) {
+            throw new IllegalArgumentException("Map size must be positive: " + mapSize);
+        }
+        if (maxTicks <= 0) {
+            throw new IllegalArgumentException("Tick limit must be positive: " + maxTicks);
+        }
+        if (!executionMode.isStepped()) {
+            throw new IllegalArgumentException("Headless games cannot run in " + executionMode + " mode");
+        }
+        this.mapSize = mapSize;
+        this.playerType = playerType;
+        this.attributes = Map.copyOf(attributes);
+        this.element = element;
+        this.decorators = List.copyOf(decorators);
+        this.maxTicks = maxTicks;
+        this.policyFactory = policyFactory;
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * Gets the size of the map of every game.
+     * @return The map size.
+     */
+    public int getMapSize() {
+        return mapSize;
+    }
+
+    /**
+     * Gets the type of player character.
+     * @return 1 for Archer, 2 for Mage, 3 for Warrior.
+     */
+    public int getPlayerType() {
+        return playerType;
+    }
+
+    /**
+     * Gets the attributes of the player.
+     * @return An unmodifiable map of Health, Power and Defence.
+     */
+    public Map<String, Integer> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Gets the magic element of the player.
+     * @return The element, or null.
+     */
+    public MagicElement getElement() {
+        return element;
+    }
+
+    /**
+     * Gets the names of the decorators applied to the player.
+     * @return An unmodifiable list of decorator names.
+     */
+    public List<String> getDecorators() {
+        return decorators;
+    }
+
+    /**
+     * Gets the number of ticks after which a game is stopped.
+     * @return The tick limit.
+     */
+    public int getMaxTicks() {
+        return maxTicks;
+    }
+
+    /**
+     * Gets how the enemies of every game are run.
+     * @return The execution mode of the games' worlds.
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Creates a fresh policy for one game.
+     * @return A new player policy.
+     */
+    public PlayerPolicy createPolicy() {
+        return policyFactory.get();
+    }
+
+    // --- Fields ---
+    private final int mapSize;
+    private final int playerType;
+    private final Map<String, Integer> attributes;
+    private final MagicElement element;
+    private final List<String> decorators;
+    private final int maxTicks;
+    private final Supplier<PlayerPolicy> policyFactory;
+    private final ExecutionMode executionMode;
+}
@@ -0,0 +1,6 @@
+/**
+ * Headless batch simulation: builds game worlds from parameters, plays them with a pluggable
+ * player policy instead of a human, and reports aggregate results and throughput.
+ * Nothing in this package touches Swing, and the runner never exits the JVM.
+ */
+package game.simulation;
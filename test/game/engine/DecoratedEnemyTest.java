@@ -0,0 +1,98 @@
+package game.engine;
+
+import game.characters.Enemy;
+import game.decorator.EnemyDecorator;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks that an enemy keeps acting after it is decorated: its task controls the decorator,
+ * the decorator moves on the map, and it leaves the world when it dies.
+ * Run with {@code java -cp <classes>:<test classes> game.engine.DecoratedEnemyTest}.
+ */
+public class DecoratedEnemyTest {
+
+    /**
+     * Runs the test and exits with a failure if a check does not hold.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        GameWorld world = new GameWorld(MAP_SIZE, 1, "Tester", attributes(), null, List.of(), ExecutionMode.SERIAL, 11L);
+        try {
+            run(world);
+        } finally {
+            world.shutdown();
+        }
+        System.out.println("DecoratedEnemyTest passed");
+    }
+
+    /**
+     * Decorates every enemy of a serial world, steps the world and follows the decorated enemies.
+     * @param world The world under test.
+     */
+    private static void run(GameWorld world) {
+        world.step(); // Creates the enemy tasks
+        world.getEffectTimer().advance(DECORATION_DELAY_MILLIS);
+
+        check(!world.getEnemyTasks().isEmpty(), "the world has no enemies");
+        Map<Enemy, Object> decorated = new IdentityHashMap<>();
+        for (EnemyTask task : world.getEnemyTasks()) {
+            Enemy enemy = task.getEnemy();
+            check(enemy instanceof EnemyDecorator, "a task still controls the undecorated enemy");
+            check(world.getEnemies().stream().anyMatch(e -> e == enemy), "a task controls an enemy the world does not list");
+            check(world.getMap().getEntitiesAt(enemy.getPosition()).contains(enemy), "a decorated enemy is not on the map");
+            decorated.put(enemy, enemy.getPosition());
+        }
+
+        boolean moved = false;
+        for (int tick = 0; tick < TICKS && !moved; tick++) {
+            world.step();
+            for (Map.Entry<Enemy, Object> entry : decorated.entrySet()) {
+                Enemy enemy = entry.getKey();
+                if (!enemy.getPosition().equals(entry.getValue())) {
+                    check(world.getMap().getEntitiesAt(enemy.getPosition()).contains(enemy),
+                            "a decorated enemy moved but the map did not follow");
+                    moved = true;
+                }
+            }
+        }
+        check(moved, "no decorated enemy moved in " + TICKS + " ticks");
+
+        Enemy victim = world.getEnemyTasks().get(0).getEnemy();
+        victim.setHealth(0);
+        world.step();
+        check(world.getEnemies().stream().noneMatch(e -> e == victim), "a dead decorated enemy stayed in the world");
+        check(world.getEnemyTasks().stream().noneMatch(t -> t.getEnemy() == victim), "a dead decorated enemy kept its task");
+    }
+
+    /**
+     * Builds the attributes of the test player.
+     * @return The attribute map.
+     */
+    private static Map<String, Integer> attributes() {
+        Map<String, Integer> attributes = new HashMap<>();
+        attributes.put("Health", 1000);
+        attributes.put("Power", 10);
+        attributes.put("Defence", 5);
+        return attributes;
+    }
+
+    /**
+     * Fails the test if a condition does not hold.
+     * @param condition The condition.
+     * @param message   The failure message.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    // --- Fields ---
+    private static final int MAP_SIZE = 10;
+    private static final int TICKS = 200;
+    private static final long DECORATION_DELAY_MILLIS = 11_000;
+}
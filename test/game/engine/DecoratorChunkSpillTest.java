@@ -0,0 +1,193 @@
+package game.engine;
+
+import game.characters.Enemy;
+import game.characters.Goblin;
+import game.characters.PlayerCharacter;
+import game.core.GameEntity;
+import game.decorator.ExplodingEnemyDecorator;
+import game.decorator.TeleportingEnemyDecorator;
+import game.decorator.VampireEnemyDecorator;
+import game.map.GameMap;
+import game.map.Position;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks that decorated enemies survive a round trip of their chunk through the spill file:
+ * the chunk can be written to disk, and once read back every decorator works again,
+ * with the world objects it does not save bound anew.
+ * Run with {@code java -cp <classes>:<test classes> game.engine.DecoratorChunkSpillTest}.
+ */
+public class DecoratorChunkSpillTest {
+
+    /**
+     * Runs the test and exits with a failure if a check does not hold.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        GameWorld world = new GameWorld(MAP_SIZE, 1, "Tester", attributes(), null, List.of(), ExecutionMode.SERIAL, 7L);
+        try {
+            run(world);
+        } finally {
+            world.shutdown();
+        }
+        System.out.println("DecoratorChunkSpillTest passed");
+    }
+
+    /**
+     * Places one enemy with each decorator in a chunk far from the player, evicts and reloads the chunk,
+     * and uses every decorator.
+     * @param world The world under test.
+     */
+    private static void run(GameWorld world) {
+        GameMap map = world.getMap();
+        PlayerCharacter player = world.getPlayer();
+        Position playerPos = player.getPosition();
+        int chunkRow = playerPos.getRow() < MAP_SIZE / 2 ? LAST_CHUNK : 0;
+        int chunkCol = playerPos.getCol() < MAP_SIZE / 2 ? LAST_CHUNK : 0;
+
+        List<Position> cells = emptyCellsInChunk(map, chunkRow, chunkCol, 3);
+        List<Enemy> decorated = List.of(
+                new VampireEnemyDecorator(new Goblin(cells.get(0), 50)),
+                new TeleportingEnemyDecorator(new Goblin(cells.get(1), 50), map),
+                new ExplodingEnemyDecorator(new Goblin(cells.get(2), 50), player));
+        for (Enemy enemy : decorated) {
+            check(map.addToGrid(enemy.getPosition(), enemy), "could not place " + enemy.getClass().getSimpleName());
+            world.getEnemies().add(enemy);
+        }
+
+        // Touch every other chunk until the one holding the decorated enemies is spilled
+        for (int pass = 0; pass < 2 && containsAny(world.getEnemies(), decorated); pass++) {
+            for (int row = 0; row <= LAST_CHUNK; row++) {
+                for (int col = 0; col <= LAST_CHUNK; col++) {
+                    if (row != chunkRow || col != chunkCol) {
+                        map.isEmpty(Position.of(row * CHUNK_SIZE, col * CHUNK_SIZE));
+                    }
+                }
+            }
+        }
+        check(!containsAny(world.getEnemies(), decorated), "the chunk was never evicted");
+
+        // Reading a cell brings the chunk back
+        Map<Class<?>, Enemy> reloaded = new HashMap<>();
+        for (Position cell : cells) {
+            for (GameEntity entity : map.getEntitiesAt(cell)) {
+                if (entity instanceof Enemy enemy) {
+                    reloaded.put(enemy.getClass(), enemy);
+                }
+            }
+        }
+        for (Enemy enemy : decorated) {
+            Enemy back = reloaded.get(enemy.getClass());
+            check(back != null, enemy.getClass().getSimpleName() + " was lost in the spill");
+            check(world.getEnemies().contains(back), enemy.getClass().getSimpleName() + " did not rejoin the world");
+        }
+
+        // The teleporting enemy has its map again: a heavy hit makes it jump to an empty cell
+        Enemy teleporting = reloaded.get(TeleportingEnemyDecorator.class);
+        Position before = teleporting.getPosition();
+        teleporting.receiveDamage(teleporting.getHealth() - 1, player);
+        check(!teleporting.getPosition().equals(before), "the teleporting enemy did not teleport");
+        check(map.getEntitiesAt(teleporting.getPosition()).contains(teleporting), "the teleported enemy is not on the map");
+
+        // The exploding enemy has its player again: dying next to the player hurts the player
+        Enemy exploding = reloaded.get(ExplodingEnemyDecorator.class);
+        Position next = emptyNeighbour(map, exploding.getPosition());
+        check(next != null, "no empty cell next to the exploding enemy");
+        check(map.tryMove(player, player.getPosition(), next), "could not move the player");
+        int health = player.getHealth();
+        exploding.setHealth(0);
+        check(exploding.isDead(), "the exploding enemy did not die");
+        check(player.getHealth() < health, "the explosion did not reach the player");
+
+        Enemy vampire = reloaded.get(VampireEnemyDecorator.class);
+        check(!vampire.isDead(), "the vampire enemy came back dead");
+    }
+
+    /**
+     * Finds empty cells in a chunk.
+     * @param map      The chunked map.
+     * @param chunkRow The chunk row.
+     * @param chunkCol The chunk column.
+     * @param count    The number of cells wanted.
+     * @return The first empty cells of the chunk, in row-major order.
+     */
+    private static List<Position> emptyCellsInChunk(GameMap map, int chunkRow, int chunkCol, int count) {
+        List<Position> cells = new ArrayList<>();
+        for (int row = chunkRow * CHUNK_SIZE; row < Math.min(MAP_SIZE, (chunkRow + 1) * CHUNK_SIZE); row++) {
+            for (int col = chunkCol * CHUNK_SIZE; col < Math.min(MAP_SIZE, (chunkCol + 1) * CHUNK_SIZE); col++) {
+                Position pos = Position.of(row, col);
+                if (map.isEmpty(pos) && cells.size() < count) {
+                    cells.add(pos);
+                }
+            }
+        }
+        check(cells.size() == count, "not enough empty cells in the chunk");
+        return cells;
+    }
+
+    /**
+     * Finds an empty cell next to a position.
+     * @param map    The map.
+     * @param center The position.
+     * @return An empty neighbouring cell, or null if there is none.
+     */
+    private static Position emptyNeighbour(GameMap map, Position center) {
+        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        for (int[] d : directions) {
+            Position pos = Position.of(center.getRow() + d[0], center.getCol() + d[1]);
+            if (map.isWithinBounds(pos) && map.isEmpty(pos)) {
+                return pos;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a list holds any of the given enemies, by identity.
+     * @param enemies The list to search.
+     * @param wanted  The enemies to look for.
+     * @return true if one of them is in the list.
+     */
+    private static boolean containsAny(List<Enemy> enemies, List<Enemy> wanted) {
+        for (Enemy enemy : enemies) {
+            for (Enemy w : wanted) {
+                if (enemy == w) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the attributes of the test player.
+     * @return The attribute map.
+     */
+    private static Map<String, Integer> attributes() {
+        Map<String, Integer> attributes = new HashMap<>();
+        attributes.put("Health", 100);
+        attributes.put("Power", 10);
+        attributes.put("Defence", 5);
+        return attributes;
+    }
+
+    /**
+     * Fails the test if a condition does not hold.
+     * @param condition The condition.
+     * @param message   The failure message.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    // --- Fields ---
+    private static final int MAP_SIZE = 1100;
+    private static final int CHUNK_SIZE = 64;
+    private static final int LAST_CHUNK = (MAP_SIZE - 1) / CHUNK_SIZE;
+}
@@ -0,0 +1,176 @@
+package game.engine;
+
+import game.characters.Enemy;
+import game.characters.Goblin;
+import game.characters.PlayerCharacter;
+import game.decorator.ExplodingEnemyDecorator;
+import game.map.GameMap;
+import game.map.Position;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks how the scheduler handles dead enemies: a dead exploding enemy hurts the player once,
+ * however many parts of the tick look at it, a dead enemy that was dormant still respawns,
+ * and respawns wait for the effect timer.
+ * Run with {@code java -cp <classes>:<test classes> game.engine.EnemyDeathTest}.
+ */
+public class EnemyDeathTest {
+
+    /**
+     * Runs the tests and exits with a failure if a check does not hold.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        explodesOnce(ExecutionMode.SERIAL);
+        explodesOnce(ExecutionMode.REGIONS);
+        dormantDeadEnemyRespawns();
+        respawnWaitsForTimer();
+        System.out.println("EnemyDeathTest passed");
+    }
+
+    /**
+     * Kills an exploding enemy next to the player and checks that one tick costs the player one blast.
+     * @param mode The execution mode of the world.
+     */
+    private static void explodesOnce(ExecutionMode mode) {
+        GameWorld world = newWorld(mode);
+        try {
+            world.getTickScheduler().pause();
+            world.step(); // Creates the enemy tasks
+            world.getEnemyTasks().clear(); // Only the enemy under test acts
+
+            PlayerCharacter player = world.getPlayer();
+            Position cell = emptyNeighbour(world.getMap(), player.getPosition());
+            check(cell != null, "no empty cell next to the player");
+            Enemy enemy = new ExplodingEnemyDecorator(new Goblin(cell, 50), player);
+            world.getMap().addToGrid(cell, enemy);
+            world.getEnemies().add(enemy);
+            world.getEnemyTasks().add(new EnemyTask(enemy, world));
+
+            enemy.setHealth(0);
+            int health = player.getHealth();
+            world.step();
+            int blast = (int) (enemy.getMaxHealth() * 0.02);
+            check(health - player.getHealth() == blast,
+                    mode + ": the player lost " + (health - player.getHealth()) + " health instead of one blast of " + blast);
+        } finally {
+            world.shutdown();
+        }
+    }
+
+    /**
+     * Puts an enemy far from the player to sleep, kills it, and checks that the next tick runs it,
+     * so it leaves the world without waiting for the player to come near.
+     */
+    private static void dormantDeadEnemyRespawns() {
+        GameWorld world = newWorld(ExecutionMode.SERIAL);
+        try {
+            world.step();
+            world.getEnemyTasks().clear();
+            world.getActivityTiers().wakeAll(); // Empties the dormant index of the cleared tasks
+
+            Position player = world.getPlayer().getPosition();
+            int row = player.getRow() < MAP_SIZE / 2 ? MAP_SIZE - 1 : 0;
+            int col = player.getCol() < MAP_SIZE / 2 ? MAP_SIZE - 1 : 0;
+            Position cell = Position.of(row, col);
+            world.getMap().getEntitiesAt(cell).forEach(e -> world.getMap().removeFromGrid(cell, e));
+            Enemy enemy = new Goblin(cell, 50);
+            world.getMap().addToGrid(cell, enemy);
+            world.getEnemies().add(enemy);
+            EnemyTask task = new EnemyTask(enemy, world);
+            world.getEnemyTasks().add(task);
+
+            world.step();
+            check(task.isDormant(), "the far enemy did not go dormant");
+            enemy.setHealth(0);
+            world.step();
+            check(!world.getEnemyTasks().contains(task), "the dead dormant enemy was never run");
+            check(!task.isDormant(), "the dead enemy was left in the dormant index");
+            check(world.getActivityTiers().getDormantCount() == 0, "the dormant count still includes the dead enemy");
+        } finally {
+            world.shutdown();
+        }
+    }
+
+    /**
+     * Kills the only enemy of a world and checks that its replacement appears on the effect timer
+     * once the respawn delay passed, not in the tick the enemy died.
+     */
+    private static void respawnWaitsForTimer() {
+        GameWorld world = newWorld(ExecutionMode.SERIAL);
+        try {
+            world.step();
+            world.getEnemyTasks().clear();
+            world.getEnemies().clear(); // Few enough enemies left for a respawn
+            world.getActivityTiers().wakeAll();
+
+            Position cell = emptyNeighbour(world.getMap(), world.getPlayer().getPosition());
+            check(cell != null, "no empty cell next to the player");
+            Enemy enemy = new Goblin(cell, 50);
+            world.getMap().addToGrid(cell, enemy);
+            world.getEnemies().add(enemy);
+            world.getEnemyTasks().add(new EnemyTask(enemy, world));
+
+            enemy.setHealth(0);
+            world.step();
+            check(world.getEnemies().isEmpty(), "the dead enemy was not taken out of the world");
+            check(world.getEnemyTasks().isEmpty(), "an enemy respawned in the tick the enemy died");
+            for (int i = 0; i < RESPAWN_STEPS; i++) {
+                world.step();
+            }
+            check(world.getEnemies().size() == 1, "no enemy respawned after the delay");
+            check(world.getEnemyTasks().size() == 1 && world.getEnemyTasks().get(0).getEnemy() == world.getEnemies().get(0),
+                    "the respawned enemy has no task");
+        } finally {
+            world.shutdown();
+        }
+    }
+
+    /**
+     * Creates a seeded test world.
+     * @param mode The execution mode of the world.
+     * @return The new world.
+     */
+    private static GameWorld newWorld(ExecutionMode mode) {
+        Map<String, Integer> attributes = new HashMap<>();
+        attributes.put("Health", 100);
+        attributes.put("Power", 10);
+        attributes.put("Defence", 5);
+        return new GameWorld(MAP_SIZE, 1, "Tester", attributes, null, List.of(), mode, 5L);
+    }
+
+    /**
+     * Finds an empty cell next to a position.
+     * @param map    The map.
+     * @param center The position.
+     * @return An empty neighbouring cell, or null if there is none.
+     */
+    private static Position emptyNeighbour(GameMap map, Position center) {
+        int[][] directions = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+        for (int[] d : directions) {
+            Position pos = Position.of(center.getRow() + d[0], center.getCol() + d[1]);
+            if (map.isWithinBounds(pos) && map.isEmpty(pos)) {
+                return pos;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fails the test if a condition does not hold.
+     * @param condition The condition.
+     * @param message   The failure message.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    // --- Fields ---
+    private static final int MAP_SIZE = 40;
+    private static final int RESPAWN_STEPS = 5; // 1500 ms of effect time at the default 300 ms tick
+}
@@ -0,0 +1,190 @@
+package game.engine;
+
+import game.characters.Enemy;
+import game.map.Position;
+import game.simulation.GameResult;
+import game.simulation.GreedyPolicy;
+import game.simulation.HeadlessGame;
+import game.simulation.SimulationConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks that a seeded world plays out the same whether its enemies run as one task each
+ * ({@link ExecutionMode#SERIAL}) or are swept by a {@link SweepEngine} ({@link ExecutionMode#SWEEP}).
+ * Run with {@code java -cp <classes>:<test classes> game.engine.SweepEngineTest}.
+ */
+public class SweepEngineTest {
+
+    /**
+     * Runs the tests and exits with a failure if a check does not hold.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        for (long seed = 1; seed <= SEEDS; seed++) {
+            idleWorldsMatch(seed);
+        }
+        playedGamesMatch();
+        System.out.println("SweepEngineTest passed");
+    }
+
+    /**
+     * Steps two worlds with the same seed, one per mode, while the player stands still and now and then
+     * fights the nearest enemy, and compares every enemy and the player after every tick.
+     * The run is long enough for enemies to be decorated, to chase and hit the player, to fall asleep,
+     * to be killed by the player and to respawn.
+     * @param seed The seed of both worlds.
+     */
+    private static void idleWorldsMatch(long seed) {
+        GameWorld tasks = newWorld(ExecutionMode.SERIAL, seed);
+        GameWorld sweep = newWorld(ExecutionMode.SWEEP, seed);
+        try {
+            compare(snapshot(tasks), snapshot(sweep), "seed " + seed + ", before the first tick");
+            for (int tick = 0; tick < IDLE_TICKS; tick++) {
+                if (tick % FIGHT_INTERVAL == 0) {
+                    fightNearestEnemy(tasks);
+                    fightNearestEnemy(sweep);
+                }
+                tasks.step();
+                sweep.step();
+                compare(snapshot(tasks), snapshot(sweep), "seed " + seed + ", tick " + tick);
+            }
+            check(sweep.getEnemyTasks().isEmpty(), "the sweeping world created enemy tasks");
+            check(sweep.getSweepEngine().size() == sweep.getEnemies().size(), "the sweep lost track of enemies");
+        } finally {
+            tasks.shutdown();
+            sweep.shutdown();
+        }
+    }
+
+    /**
+     * Lets the player fight the enemy nearest to it, wherever that enemy stands.
+     * Of equally near enemies, the one that comes first in the world's list is fought.
+     * @param world The world.
+     */
+    private static void fightNearestEnemy(GameWorld world) {
+        Position playerPos = world.getPlayer().getPosition();
+        Enemy nearest = null;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (Enemy enemy : world.getEnemies()) {
+            Position pos = enemy.getPosition();
+            int distance = Math.abs(pos.getRow() - playerPos.getRow()) + Math.abs(pos.getCol() - playerPos.getCol());
+            if (distance < nearestDistance) {
+                nearest = enemy;
+                nearestDistance = distance;
+            }
+        }
+        if (nearest != null) {
+            world.fightEnemyAt(nearest.getPosition());
+        }
+    }
+
+    /**
+     * Plays headless games in both modes with a policy that fights, collects and gets enemies killed
+     * and respawned, and compares their results.
+     */
+    private static void playedGamesMatch() {
+        int kills = 0;
+        for (long seed = 1; seed <= SEEDS; seed++) {
+            GameResult tasks = new HeadlessGame(config(ExecutionMode.SERIAL), seed).play();
+            GameResult sweep = new HeadlessGame(config(ExecutionMode.SWEEP), seed).play();
+            String expected = describe(tasks);
+            String actual = describe(sweep);
+            check(expected.equals(actual), "seed " + seed + ": the games differ\n  tasks: " + expected + "\n  sweep: " + actual);
+            kills += tasks.getEnemiesKilled();
+        }
+        check(kills > 0, "no game killed an enemy, so respawns were never compared");
+    }
+
+    /**
+     * Describes the state of a world that the enemies can change.
+     * @param world The world.
+     * @return The player's position and health, followed by every enemy in order.
+     */
+    private static List<String> snapshot(GameWorld world) {
+        List<String> entries = new ArrayList<>();
+        entries.add("player " + world.getPlayer().getPosition() + " " + world.getPlayer().getHealth());
+        for (Enemy enemy : world.getEnemies()) {
+            entries.add(enemy.getClass().getSimpleName() + " " + enemy.getPosition() + " " + enemy.getHealth());
+        }
+        return entries;
+    }
+
+    /**
+     * Fails the test at the first entry where two world snapshots differ.
+     * @param expected The snapshot of the world run by tasks.
+     * @param actual   The snapshot of the world run by the sweep.
+     * @param when     Describes when the snapshots were taken.
+     */
+    private static void compare(List<String> expected, List<String> actual, String when) {
+        for (int i = 0; i < Math.min(expected.size(), actual.size()); i++) {
+            check(expected.get(i).equals(actual.get(i)),
+                    when + ": entry " + i + " is " + actual.get(i) + " instead of " + expected.get(i));
+        }
+        check(expected.size() == actual.size(),
+                when + ": " + actual.size() + " entries instead of " + expected.size());
+    }
+
+    /**
+     * Describes a game result without its running time.
+     * @param result The result.
+     * @return The outcome, ticks, treasure, health and kills of the game.
+     */
+    private static String describe(GameResult result) {
+        return result.getOutcome() + " after " + result.getTicks() + " ticks, treasure " + result.getTreasurePoints()
+                + ", health " + result.getPlayerHealth() + ", kills " + result.getEnemiesKilled();
+    }
+
+    /**
+     * Creates a seeded test world.
+     * @param mode The execution mode of the world.
+     * @param seed The seed of the world.
+     * @return The new world.
+     */
+    private static GameWorld newWorld(ExecutionMode mode, long seed) {
+        return new GameWorld(IDLE_MAP_SIZE, 1, "Tester", attributes(), null, List.of(), mode, seed);
+    }
+
+    /**
+     * Creates the configuration of the headless games.
+     * @param mode The execution mode of the games.
+     * @return The configuration.
+     */
+    private static SimulationConfig config(ExecutionMode mode) {
+        return new SimulationConfig(GAME_MAP_SIZE, 3, attributes(), null, List.of(), GAME_TICKS, GreedyPolicy::new, mode);
+    }
+
+    /**
+     * Creates the attributes of the test player.
+     * @return Health, Power and Defence.
+     */
+    private static Map<String, Integer> attributes() {
+        Map<String, Integer> attributes = new HashMap<>();
+        attributes.put("Health", 1000);
+        attributes.put("Power", 10);
+        attributes.put("Defence", 5);
+        return attributes;
+    }
+
+    /**
+     * Fails the test if a condition does not hold.
+     * @param condition The condition.
+     * @param message   The failure message.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    // --- Fields ---
+    private static final int SEEDS = 4;
+    private static final int IDLE_MAP_SIZE = 40;
+    private static final int IDLE_TICKS = 200;
+    private static final int FIGHT_INTERVAL = 5;
+    private static final int GAME_MAP_SIZE = 10;
+    private static final int GAME_TICKS = 400;
+}
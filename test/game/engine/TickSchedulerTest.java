@@ -0,0 +1,57 @@
+package game.engine;
+
+import game.characters.Goblin;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks that the tick clock keeps running after a tick fails.
+ * Run with {@code java -cp <classes>:<test classes> game.engine.TickSchedulerTest}.
+ */
+public class TickSchedulerTest {
+
+    /**
+     * Runs the test and exits with a failure if a check does not hold.
+     * @param args Unused.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, Integer> attributes = new HashMap<>();
+        attributes.put("Health", 100);
+        attributes.put("Power", 10);
+        attributes.put("Defence", 5);
+        GameWorld world = new GameWorld(10, 1, "Tester", attributes, null, List.of(), ExecutionMode.FIXED_POOL, 3L);
+        try {
+            world.getTickScheduler().setTickMillis(TICK_MILLIS);
+            world.startEnemyTask();
+
+            // An enemy without a position makes selecting the due tasks throw, failing whole ticks
+            EnemyTask broken = new EnemyTask(new Goblin(null, 50), world);
+            world.getEnemyTasks().add(broken);
+            Thread.sleep(TICK_MILLIS * 10);
+            world.getEnemyTasks().remove(broken);
+
+            long ticks = world.getTickScheduler().getTickCount();
+            Thread.sleep(TICK_MILLIS * 10);
+            check(world.getTickScheduler().getTickCount() > ticks, "the clock stopped after a failed tick");
+        } finally {
+            world.shutdown();
+        }
+        System.out.println("TickSchedulerTest passed");
+    }
+
+    /**
+     * Fails the test if a condition does not hold.
+     * @param condition The condition.
+     * @param message   The failure message.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    // --- Fields ---
+    private static final long TICK_MILLIS = 20;
+}
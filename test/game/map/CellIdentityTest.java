@@ -0,0 +1,64 @@
+package game.map;
+
+import game.items.Potion;
+
+/**
+ * Checks that map cells track entities by identity, so entities whose equals follows their
+ * position do not stand in for each other, and that positions on dense maps are canonical.
+ * Run with {@code java -cp <classes>:<test classes> game.map.CellIdentityTest}.
+ */
+public class CellIdentityTest {
+
+    /**
+     * Runs the tests and exits with a failure if a check does not hold.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        equalEntitiesShareACell();
+        densePositionsAreCanonical();
+        System.out.println("CellIdentityTest passed");
+    }
+
+    /**
+     * Puts two equal but distinct potions in one cell and checks that both are stored
+     * and that removing one leaves the other in place.
+     */
+    private static void equalEntitiesShareACell() {
+        GameMap map = new GameMap(SMALL_MAP_SIZE);
+        Position cell = Position.of(1, 1);
+        Potion first = new Potion(cell, false, 10, 5);
+        Potion second = new Potion(cell, false, 10, 5);
+        check(first.equals(second), "the potions should be equal for this test to mean anything");
+
+        check(map.addToGrid(cell, first), "could not place the first potion");
+        check(map.addToGrid(cell, second), "the second potion was refused because it equals the first");
+        check(!map.addToGrid(cell, second), "the same potion was stored twice");
+        check(map.removeFromGrid(cell, second), "could not remove the second potion");
+        check(map.getEntitiesAt(cell).size() == 1 && map.getEntitiesAt(cell).get(0) == first,
+                "removing the second potion did not leave the first one");
+    }
+
+    /**
+     * Creates the widest dense map and checks that its far corner maps to one shared position.
+     */
+    private static void densePositionsAreCanonical() {
+        GameMap map = new GameMap(GameMap.DENSE_MAP_LIMIT);
+        int last = map.getSize() - 1;
+        check(Position.of(last, last) == Position.of(last, last), "the far corner of a dense map is not canonical");
+        check(map.positionOf(map.pack(last, last)) == Position.of(last, last), "positionOf did not return the shared position");
+    }
+
+    /**
+     * Fails the test with a message if a condition does not hold.
+     * @param condition The condition that must hold.
+     * @param message Describes the failure.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    // --- Fields ---
+    private static final int SMALL_MAP_SIZE = 10;
+}
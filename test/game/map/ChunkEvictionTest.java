@@ -0,0 +1,222 @@
+package game.map;
+
+import game.core.GameEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks that evicting chunks of a chunked map never loses entities:
+ * a chunk whose spill fails stays resident, and writes racing with evictions all land.
+ * Run with {@code java -cp <classes>:<test classes> game.map.ChunkEvictionTest}.
+ */
+public class ChunkEvictionTest {
+
+    /**
+     * Runs the tests and exits with a failure if a check does not hold.
+     * @param args Unused.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        failedSpillKeepsChunk();
+        writesRacingEvictionsLand();
+        System.out.println("ChunkEvictionTest passed");
+    }
+
+    /**
+     * Puts an entity that cannot be serialized in a chunk, forces the chunk out,
+     * and checks that it stayed resident with its entity and was never reported as evicted.
+     */
+    private static void failedSpillKeepsChunk() {
+        GameMap map = new GameMap(MAP_SIZE);
+        List<GameEntity> evicted = new ArrayList<>();
+        map.setChunkListener(new RecordingListener(evicted));
+        Position cell = Position.of(0, 0);
+        Marker broken = new Marker(0, new Object());
+        Marker fine = new Marker(1, null);
+        check(map.addToGrid(cell, broken), "could not place the broken marker");
+        check(map.addToGrid(Position.of(1, 0), fine), "could not place the other marker");
+
+        touchAllChunks(map);
+        check(!evicted.contains(broken), "a chunk was reported evicted although its spill failed");
+        check(map.getEntitiesAt(cell).contains(broken), "the broken marker was lost");
+        check(map.removeFromGrid(Position.of(1, 0), fine), "the chunk did not stay writable");
+    }
+
+    /**
+     * Moves markers back and forth between chunks on several threads while another thread
+     * cycles through every chunk of the map, and checks that every add and remove found the
+     * marker where its last write left it.
+     */
+    private static void writesRacingEvictionsLand() throws InterruptedException {
+        GameMap map = new GameMap(MAP_SIZE);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger lost = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < WRITERS; t++) {
+            int id = t;
+            threads.add(new Thread(() -> {
+                Marker marker = new Marker(id, null);
+                // Each writer walks its marker through every chunk, so it keeps writing to chunks
+                // that were touched long ago and are the next ones to be evicted
+                Position at = cellOfChunk(id, id);
+                map.addToGrid(at, marker);
+                for (int i = 1; i <= MOVES; i++) {
+                    Position next = cellOfChunk(id * 7 + i, id);
+                    if (!map.removeFromGrid(at, marker) || !map.addToGrid(next, marker)) {
+                        lost.incrementAndGet();
+                        return;
+                    }
+                    at = next;
+                }
+            }));
+        }
+        Thread toucher = new Thread(() -> {
+            while (running.get()) {
+                touchAllChunks(map);
+            }
+        });
+        toucher.start();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        running.set(false);
+        toucher.join();
+        check(lost.get() == 0, lost.get() + " writers lost a write to an evicted chunk");
+    }
+
+    /**
+     * Returns a cell of a chunk that belongs to one writer.
+     * @param chunk  The chunk number, taken modulo the number of chunks.
+     * @param writer The writer, which picks a cell no other writer uses.
+     * @return The cell.
+     */
+    private static Position cellOfChunk(int chunk, int writer) {
+        int chunksPerSide = (MAP_SIZE + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int id = chunk % (chunksPerSide * chunksPerSide);
+        return Position.of((id / chunksPerSide) * CHUNK_SIZE + writer, (id % chunksPerSide) * CHUNK_SIZE);
+    }
+
+    /**
+     * Reads one cell of every chunk, which brings each chunk in and pushes older ones out.
+     * @param map The chunked map.
+     */
+    private static void touchAllChunks(GameMap map) {
+        for (int row = 0; row < MAP_SIZE; row += CHUNK_SIZE) {
+            for (int col = 0; col < MAP_SIZE; col += CHUNK_SIZE) {
+                map.isEmpty(Position.of(row, col));
+            }
+        }
+    }
+
+    /**
+     * Fails the test if a condition does not hold.
+     * @param condition The condition.
+     * @param message   The failure message.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * Chunk listener that creates empty chunks and records the entities of evicted chunks.
+     */
+    private static final class RecordingListener implements ChunkListener {
+
+        /**
+         * Constructs a listener.
+         * @param evicted Receives the entities of every evicted chunk.
+         */
+        RecordingListener(List<GameEntity> evicted) {
+            this.evicted = evicted;
+        }
+
+        @Override
+        public void onChunkGenerated(GameMap map, int firstRow, int firstCol, int rows, int cols) {
+        }
+
+        @Override
+        public void onChunkLoaded(GameMap map, List<GameEntity> entities) {
+        }
+
+        @Override
+        public void onChunkEvicted(GameMap map, List<GameEntity> entities) {
+            evicted.addAll(entities);
+        }
+
+        // --- Fields ---
+        private final List<GameEntity> evicted;
+    }
+
+    /**
+     * Minimal entity, equal to any other marker with the same id so it can be found after a round trip to disk.
+     * A marker with a payload that is not serializable makes its chunk fail to spill.
+     */
+    private static final class Marker implements GameEntity {
+
+        /**
+         * Constructs a marker.
+         * @param id      The id of the marker.
+         * @param payload Extra state saved with the marker, or null.
+         */
+        Marker(int id, Object payload) {
+            this.id = id;
+            this.payload = payload;
+        }
+
+        @Override
+        public Position getPosition() {
+            return null;
+        }
+
+        @Override
+        public boolean setPosition(Position newPos) {
+            return true;
+        }
+
+        @Override
+        public String getDisplaySymbol() {
+            return "M";
+        }
+
+        @Override
+        public void setVisible(boolean visible) {
+        }
+
+        @Override
+        public boolean getVisible() {
+            return true;
+        }
+
+        @Override
+        public GameEntity deepCopy() {
+            return new Marker(id, payload);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Marker other && other.id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+
+        // --- Fields ---
+        private static final long serialVersionUID = 1L;
+        private final int id;
+        @SuppressWarnings("serial") // Deliberately not always serializable, to make spills fail
+        private final Object payload;
+    }
+
+    // --- Fields ---
+    private static final int MAP_SIZE = 1100;
+    private static final int CHUNK_SIZE = 64;
+    private static final int WRITERS = 8;
+    private static final int MOVES = 5000;
+}